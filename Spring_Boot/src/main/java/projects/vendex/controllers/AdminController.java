@@ -9,6 +9,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import projects.vendex.services.AdminService;
+import projects.vendex.services.BulkForecastJobService;
+import projects.vendex.services.SalesService;
+import projects.vendex.dtos.BulkForecastJobDto;
 import projects.vendex.dtos.RoleUpdateDto;
 
 import java.util.Map;
@@ -18,9 +21,13 @@ import java.util.Map;
 @RequestMapping("/admin")
 public class AdminController {
     private final AdminService adminService;
+    private final SalesService salesService;
+    private final BulkForecastJobService bulkForecastJobService;
 
-    AdminController(AdminService adminService){
+    AdminController(AdminService adminService, SalesService salesService, BulkForecastJobService bulkForecastJobService){
         this.adminService = adminService;
+        this.salesService = salesService;
+        this.bulkForecastJobService = bulkForecastJobService;
     }
 
     @Operation(summary = "Get all users", description = "Retrieve a list of all registered users. Accessible only to ADMIN.")
@@ -59,4 +66,27 @@ public class AdminController {
         this.adminService.updateRole(dto.getUserId(), dto.getRole());
         return ResponseEntity.ok(Map.of("Message", "Role updated successfully for user id: " + dto.getUserId()));
     }
+
+    @Operation(summary = "Rebuild the daily sales rollup", description = "Recomputes daily_sales_rollup from the sales table. Blocks sale inserts while it runs. Accessible only to ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollup rebuilt; returns the number of rows written"),
+            @ApiResponse(responseCode = "403", description = "Access denied - requires ADMIN role"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - token missing or invalid")
+    })
+    @PostMapping("/sales/rollup/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSalesRollup(){
+        return ResponseEntity.ok(Map.of("rows", this.salesService.rebuildDailyRollup()));
+    }
+
+    @Operation(summary = "Start a bulk forecast job", description = "Forecasts the whole catalog in the background and writes consolidated purchase orders. Poll and stream it under /agent/inventory/forecast/jobs/{jobId}. Accessible only to ADMIN.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Job started; returns its id and progress"),
+            @ApiResponse(responseCode = "409", description = "Another bulk forecast job is still running"),
+            @ApiResponse(responseCode = "403", description = "Access denied - requires ADMIN role"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - token missing or invalid")
+    })
+    @PostMapping("/inventory/forecast/jobs")
+    public ResponseEntity<BulkForecastJobDto> submitBulkForecastJob(){
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(this.bulkForecastJobService.submit());
+    }
 }
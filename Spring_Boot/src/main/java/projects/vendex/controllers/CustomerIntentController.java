@@ -1,9 +1,12 @@
 package projects.vendex.controllers;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import projects.vendex.dtos.CacheStatsDto;
 import projects.vendex.dtos.CustomerIntentResponseDto;
 import projects.vendex.services.CustomerIntentService;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/demo/ai/customer")
@@ -13,9 +16,14 @@ public class CustomerIntentController {
     private final CustomerIntentService customerIntentService;
 
     @PostMapping("/process-intent")
-    public CustomerIntentResponseDto processIntent(
+    public Mono<CustomerIntentResponseDto> processIntent(
             @RequestParam String userInput
     ) {
         return customerIntentService.processIntent(userInput);
     }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(customerIntentService.getCacheStats());
+    }
 }
@@ -0,0 +1,40 @@
+package projects.vendex.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import projects.vendex.dtos.ConnectionPoolStatsDto;
+import projects.vendex.dtos.IntegrationStatsDto;
+import projects.vendex.dtos.LatencyHistogramDto;
+import projects.vendex.services.IntegrationLatencyService;
+import projects.vendex.services.IntegrationResilienceService;
+import projects.vendex.util.WebClientPoolMetrics;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/demo/ai/integrations")
+@RequiredArgsConstructor
+public class IntegrationController {
+
+    private final WebClientPoolMetrics poolMetrics;
+    private final IntegrationResilienceService resilienceService;
+    private final IntegrationLatencyService latencyService;
+
+    @GetMapping("/pools")
+    public ResponseEntity<List<ConnectionPoolStatsDto>> getPools() {
+        return ResponseEntity.ok(poolMetrics.snapshot());
+    }
+
+    @GetMapping("/breakers")
+    public ResponseEntity<List<IntegrationStatsDto>> getBreakers() {
+        return ResponseEntity.ok(resilienceService.getStats());
+    }
+
+    @GetMapping("/latency")
+    public ResponseEntity<List<LatencyHistogramDto>> getLatency() {
+        return ResponseEntity.ok(latencyService.getHistograms());
+    }
+}
@@ -1,11 +1,18 @@
 package projects.vendex.controllers;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import projects.vendex.dtos.BulkForecastJobDto;
+import projects.vendex.dtos.BulkForecastOutcomeDto;
+import projects.vendex.dtos.CacheStatsDto;
 import projects.vendex.dtos.ForecastAndDecisionResponseDto;
 import projects.vendex.dtos.SkuRequestDto;
+import projects.vendex.services.BulkForecastJobService;
 import projects.vendex.services.InventoryAgentService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -15,18 +22,40 @@ import java.util.List;
 public class InventoryAgentController {
 
     private final InventoryAgentService inventoryAgentService;
+    private final BulkForecastJobService bulkForecastJobService;
 
     @PostMapping("/forecast")
-    public ResponseEntity<ForecastAndDecisionResponseDto> forecastAndDecide(
+    public Mono<ResponseEntity<ForecastAndDecisionResponseDto>> forecastAndDecide(
             @RequestBody SkuRequestDto request
     ) {
-        return ResponseEntity.ok(
-                inventoryAgentService.forecastAndDecide(request.getSku())
-        );
+        return inventoryAgentService.forecastAndDecide(request.getSku())
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/forecast/all")
-    public ResponseEntity<List<ForecastAndDecisionResponseDto>> bulkForecastAndDecide() {
-        return ResponseEntity.ok(inventoryAgentService.bulkForecastAndDecide());
+    public Mono<ResponseEntity<List<ForecastAndDecisionResponseDto>>> bulkForecastAndDecide() {
+        return inventoryAgentService.bulkForecastAndDecide()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/forecast/jobs/{jobId}")
+    public ResponseEntity<BulkForecastJobDto> getBulkForecastJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(bulkForecastJobService.getJob(jobId));
+    }
+
+    // NDJSON or SSE depending on the Accept header. Streaming media types get no
+    // async request timeout from Spring MVC, so this stays open for the whole run
+    // while every other async request keeps the default timeout.
+    @GetMapping(
+            value = "/forecast/jobs/{jobId}/results",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE}
+    )
+    public Flux<BulkForecastOutcomeDto> streamBulkForecastResults(@PathVariable String jobId) {
+        return bulkForecastJobService.streamOutcomes(jobId);
+    }
+
+    @GetMapping("/forecast/cache/stats")
+    public ResponseEntity<CacheStatsDto> forecastCacheStats() {
+        return ResponseEntity.ok(inventoryAgentService.getForecastCacheStats());
     }
 }
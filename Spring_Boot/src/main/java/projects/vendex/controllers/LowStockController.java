@@ -0,0 +1,51 @@
+package projects.vendex.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import projects.vendex.dtos.LowStockEventDto;
+import projects.vendex.dtos.StockThresholdDto;
+import projects.vendex.services.LowStockWatchService;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("demo/stock/low-stock")
+@RequiredArgsConstructor
+public class LowStockController {
+
+    private final LowStockWatchService lowStockWatchService;
+
+    @GetMapping
+    public ResponseEntity<List<LowStockEventDto>> getLowStock() {
+        return ResponseEntity.ok(lowStockWatchService.getLowStock());
+    }
+
+    // Current low SKUs first, then LOW / RECOVERED crossings as they happen
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<LowStockEventDto>> streamLowStock() {
+        return lowStockWatchService.stream();
+    }
+
+    @GetMapping("/thresholds")
+    public ResponseEntity<List<StockThresholdDto>> getThresholds() {
+        return ResponseEntity.ok(lowStockWatchService.getThresholds());
+    }
+
+    @PutMapping("/thresholds/{sku}")
+    public ResponseEntity<StockThresholdDto> setThreshold(
+            @PathVariable String sku,
+            @RequestBody StockThresholdDto dto
+    ) {
+        return ResponseEntity.ok(lowStockWatchService.setThreshold(sku, dto.getThreshold()));
+    }
+
+    // Back to the default threshold
+    @DeleteMapping("/thresholds/{sku}")
+    public ResponseEntity<StockThresholdDto> clearThreshold(@PathVariable String sku) {
+        return ResponseEntity.ok(lowStockWatchService.clearThreshold(sku));
+    }
+}
@@ -5,52 +5,43 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import projects.vendex.dtos.ReceiptRequestDto;
-import projects.vendex.dtos.SourcingRequestDto;
-import projects.vendex.entities.PurchaseOrder;
 import projects.vendex.enums.PaymentMode;
-import projects.vendex.repositories.PurchaseOrderRepository;
 import projects.vendex.services.FastApiIntegrationService;
 import projects.vendex.services.PurchaseOrderAiPayloadService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @RestController
 @RequestMapping("/demo/ai/purchase-orders")
 @RequiredArgsConstructor
 public class PurchaseOrderAiController {
 
-    private final PurchaseOrderRepository purchaseOrderRepository;
     private final PurchaseOrderAiPayloadService payloadService;
     private final FastApiIntegrationService fastApiIntegrationService;
+    private final Scheduler blockingScheduler;
 
     @PostMapping("/{poId}/generate-receipt")
-    public ResponseEntity<byte[]> generateReceipt(@PathVariable Long poId) {
-
-        PurchaseOrder po = purchaseOrderRepository.findById(poId)
-                .orElseThrow(() -> new RuntimeException("PO not found"));
-
-        ReceiptRequestDto payload = payloadService.buildReceiptPayload(po);
-
-        byte[] pdfBytes = fastApiIntegrationService.generateReceipt(payload);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=receipt_" + poId + ".pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfBytes);
+    public Mono<ResponseEntity<byte[]>> generateReceipt(@PathVariable Long poId) {
+
+        // Loading the PO and its items is blocking JPA, so it runs off the request thread
+        return Mono.fromCallable(() -> payloadService.buildReceiptPayload(poId))
+                .subscribeOn(blockingScheduler)
+                .flatMap(fastApiIntegrationService::generateReceipt)
+                .map(pdfBytes -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=receipt_" + poId + ".pdf")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .body(pdfBytes));
     }
 
     @PostMapping("/{poId}/recommend-manufacturer")
-    public Object recommendManufacturer(
+    public Mono<Object> recommendManufacturer(
             @PathVariable Long poId,
             @RequestParam PaymentMode preferredPaymentMode
     ) {
 
-        PurchaseOrder po = purchaseOrderRepository.findById(poId)
-                .orElseThrow(() -> new RuntimeException("PO not found"));
-
-        SourcingRequestDto payload =
-                payloadService.buildSourcingPayload(po, preferredPaymentMode);
-
-        return fastApiIntegrationService.recommendManufacturer(payload);
+        return Mono.fromCallable(() -> payloadService.buildSourcingPayload(poId, preferredPaymentMode))
+                .subscribeOn(blockingScheduler)
+                .flatMap(fastApiIntegrationService::recommendManufacturer);
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import projects.vendex.dtos.RosterResponseDto;
 import projects.vendex.services.RosterService;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 
@@ -18,7 +19,7 @@ public class RosterController {
     private final RosterService rosterService;
 
     @PostMapping("/generate")
-    public RosterResponseDto generateRoster(
+    public Mono<RosterResponseDto> generateRoster(
             @RequestParam LocalDate date
     ) {
         return rosterService.generateRoster(date);
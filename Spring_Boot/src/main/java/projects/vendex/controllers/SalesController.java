@@ -3,11 +3,14 @@ package projects.vendex.controllers;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import projects.vendex.dtos.SalesBatchResultDto;
+import projects.vendex.dtos.SalesJournalStatsDto;
+import projects.vendex.entities.SalesDeadLetter;
 import projects.vendex.entities.SalesRecord;
-import projects.vendex.entities.Stock;
-import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.enums.SaleLineStatus;
 import projects.vendex.repositories.SalesRepository;
-import projects.vendex.repositories.StockRepository;
+import projects.vendex.services.SalesJournalService;
+import projects.vendex.services.SalesService;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,17 +21,44 @@ import java.util.List;
 public class SalesController {
 
     private final SalesRepository salesRepository;
-    private final StockRepository stockRepository;
+    private final SalesService salesService;
+    private final SalesJournalService salesJournalService;
 
+    // In journal mode sales are acknowledged with 202 once durable locally
     @PostMapping
     public ResponseEntity<SalesRecord> addSale(@RequestBody SalesRecord sale) {
-        Stock stock = stockRepository.findById(sale.getSku()).orElseThrow(() -> new NotFoundException("Stock unavailable"));
+        if (salesJournalService.isEnabled()) {
+            SalesBatchResultDto result = salesJournalService.append(List.of(sale));
+            if (result.getLines().getFirst().getStatus() == SaleLineStatus.REJECTED) {
+                throw new IllegalArgumentException(result.getLines().getFirst().getMessage());
+            }
+            return ResponseEntity.accepted().body(sale);
+        }
+        return ResponseEntity.ok(salesService.recordSale(sale));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<SalesBatchResultDto> addSales(@RequestBody List<SalesRecord> sales) {
+        if (salesJournalService.isEnabled()) {
+            return ResponseEntity.accepted().body(salesJournalService.append(sales));
+        }
+        return ResponseEntity.ok(salesService.recordSales(sales));
+    }
 
-        if (stock.getOnHand() < sale.getQuantitySold()) throw new IllegalArgumentException("Low Stock. Unable to process request");
-        stock.setOnHand(stock.getOnHand() - sale.getQuantitySold());
+    @GetMapping("/journal/stats")
+    public ResponseEntity<SalesJournalStatsDto> getJournalStats() {
+        return ResponseEntity.ok(salesJournalService.getStats());
+    }
+
+    @GetMapping("/journal/dead-letters")
+    public ResponseEntity<List<SalesDeadLetter>> getDeadLetters() {
+        return ResponseEntity.ok(salesService.getDeadLetters());
+    }
 
-        stockRepository.save(stock);
-        return ResponseEntity.ok(salesRepository.save(sale));
+    @DeleteMapping("/journal/dead-letters/{id}")
+    public ResponseEntity<Void> resolveDeadLetter(@PathVariable Long id) {
+        salesService.resolveDeadLetter(id);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{sku}")
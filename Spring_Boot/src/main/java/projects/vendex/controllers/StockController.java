@@ -1,14 +1,32 @@
 package projects.vendex.controllers;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import projects.vendex.dtos.BulkImportResultDto;
+import projects.vendex.dtos.StockAvailabilityDto;
+import projects.vendex.dtos.StockLedgerCheckDto;
+import projects.vendex.dtos.StockLedgerStatsDto;
+import projects.vendex.dtos.StockLevelDto;
 import projects.vendex.dtos.StockUpdateDto;
 import projects.vendex.entities.Stock;
-import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.entities.StockMovement;
+import projects.vendex.enums.BulkFormat;
 import projects.vendex.repositories.StockRepository;
+import projects.vendex.services.StockBulkService;
+import projects.vendex.services.StockLedgerService;
+import projects.vendex.services.StockMovementService;
+import projects.vendex.services.StockReservationService;
+import projects.vendex.services.StockService;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("demo/stock")
@@ -16,6 +34,29 @@ import java.time.LocalDate;
 public class StockController {
 
     private final StockRepository stockRepository;
+    private final StockService stockService;
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationService stockReservationService;
+    private final StockMovementService stockMovementService;
+    private final StockBulkService stockBulkService;
+
+    // Streams a CSV or NDJSON upload of products with their stock levels
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDto> importStock(HttpServletRequest request) throws IOException {
+        BulkFormat format = BulkFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(stockBulkService.importRows(request.getInputStream(), format));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStock(
+            @RequestParam(defaultValue = "CSV") BulkFormat format
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"stock." + format.name().toLowerCase() + "\"")
+                .body(out -> stockBulkService.export(out, format));
+    }
 
     @GetMapping("/{sku}")
     public ResponseEntity<Stock> getStock(@PathVariable String sku) {
@@ -25,17 +66,47 @@ public class StockController {
         );
     }
 
+    // On hand minus units held by open reservations
+    @GetMapping("/{sku}/available")
+    public ResponseEntity<StockAvailabilityDto> getAvailable(@PathVariable String sku) {
+        return ResponseEntity.ok(stockReservationService.getAvailability(sku));
+    }
+
+    // Level from the movement log; without `at` this is the current level
+    @GetMapping("/{sku}/level")
+    public ResponseEntity<StockLevelDto> getLevel(
+            @PathVariable String sku,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return ResponseEntity.ok(stockMovementService.getLevel(sku, at));
+    }
+
+    @GetMapping("/{sku}/movements")
+    public ResponseEntity<List<StockMovement>> getMovements(
+            @PathVariable String sku,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(stockMovementService.getRecentMovements(sku, limit));
+    }
+
     @PutMapping("/{sku}")
     public ResponseEntity<Stock> updateStock(
             @PathVariable String sku,
             @RequestBody StockUpdateDto dto
     ) {
-        Stock stock = stockRepository.findById(sku)
-                .orElseThrow(() -> new NotFoundException("Stock not found"));
+        return ResponseEntity.ok(stockService.setOnHand(sku, dto.getOnHand()));
+    }
 
-        stock.setOnHand(dto.getOnHand());
-        stock.setLastUpdated(LocalDate.now());
+    @GetMapping("/ledger/stats")
+    public ResponseEntity<StockLedgerStatsDto> getLedgerStats() {
+        return ResponseEntity.ok(stockLedgerService.getStats());
+    }
 
-        return ResponseEntity.ok(stockRepository.save(stock));
+    // Compares hot-SKU counters with the database; repair=true reloads the ones that drifted
+    @PostMapping("/ledger/check")
+    public ResponseEntity<List<StockLedgerCheckDto>> checkLedger(
+            @RequestParam(defaultValue = "false") boolean repair
+    ) {
+        return ResponseEntity.ok(stockLedgerService.check(repair));
     }
 }
@@ -0,0 +1,45 @@
+package projects.vendex.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import projects.vendex.dtos.StockReservationDto;
+import projects.vendex.dtos.StockReservationRequestDto;
+import projects.vendex.dtos.StockReservationStatsDto;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.services.SalesService;
+import projects.vendex.services.StockReservationService;
+
+@RestController
+@RequestMapping("demo/stock/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+
+    private final StockReservationService stockReservationService;
+    private final SalesService salesService;
+
+    @PostMapping
+    public ResponseEntity<StockReservationDto> reserve(@RequestBody StockReservationRequestDto request) {
+        return ResponseEntity.ok(stockReservationService.reserve(request));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StockReservationStatsDto> getStats() {
+        return ResponseEntity.ok(stockReservationService.getStats());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StockReservationDto> getReservation(@PathVariable String id) {
+        return ResponseEntity.ok(stockReservationService.get(id));
+    }
+
+    @PostMapping("/{id}/commit")
+    public ResponseEntity<SalesRecord> commit(@PathVariable String id) {
+        return ResponseEntity.ok(stockReservationService.commit(id, salesService::recordReservedSale));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<StockReservationDto> release(@PathVariable String id) {
+        return ResponseEntity.ok(stockReservationService.release(id));
+    }
+}
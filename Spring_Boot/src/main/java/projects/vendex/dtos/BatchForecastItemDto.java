@@ -0,0 +1,19 @@
+package projects.vendex.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class BatchForecastItemDto {
+
+    private String sku;
+
+    @JsonProperty("sales_history")
+    private double[] salesHistory;
+
+    @JsonProperty("current_stock")
+    private int currentStock;
+
+    @JsonProperty("unit_cost")
+    private double unitCost;
+}
@@ -0,0 +1,14 @@
+package projects.vendex.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchForecastRequestDto {
+    private List<BatchForecastItemDto> items;
+}
@@ -0,0 +1,10 @@
+package projects.vendex.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchForecastResponseDto {
+    private List<BatchForecastResultDto> results;
+}
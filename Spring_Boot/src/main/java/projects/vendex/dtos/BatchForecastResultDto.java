@@ -0,0 +1,14 @@
+package projects.vendex.dtos;
+
+import lombok.Data;
+
+@Data
+public class BatchForecastResultDto {
+    private String sku;
+    private int forecast;
+    private double confidence;
+    private InventoryDecisionDto decision;
+
+    // Set instead of forecast/decision when this SKU failed on the ML side
+    private String error;
+}
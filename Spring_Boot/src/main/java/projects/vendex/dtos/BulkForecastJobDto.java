@@ -0,0 +1,22 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+import projects.vendex.enums.BulkForecastJobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkForecastJobDto {
+    private String jobId;
+    private BulkForecastJobStatus status;
+    private long total;
+    private long done;
+    private long failed;
+    private long skipped;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+import projects.vendex.enums.ForecastOutcomeStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkForecastOutcomeDto {
+
+    private String sku;
+
+    private ForecastOutcomeStatus status;
+
+    // Present when status is DONE
+    private ForecastAndDecisionResponseDto result;
+
+    // Reason when status is FAILED or SKIPPED
+    private String message;
+}
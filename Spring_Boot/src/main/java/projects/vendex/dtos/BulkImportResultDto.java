@@ -0,0 +1,18 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResultDto {
+    private long rows;
+    private long imported;
+    private long rejected;
+    private List<BulkRowErrorDto> errors;
+    // True when more rows were rejected than are listed in errors
+    private boolean errorsTruncated;
+}
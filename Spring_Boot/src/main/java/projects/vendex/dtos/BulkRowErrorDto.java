@@ -0,0 +1,14 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRowErrorDto {
+    // 1-based line in the uploaded file
+    private long line;
+    private String sku;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolStatsDto {
+    private String pool;
+    private String remoteAddress;
+    private int acquired;
+    private int allocated;
+    private int idle;
+    private int pendingAcquire;
+    private int maxConnections;
+    private int maxPendingAcquire;
+}
@@ -4,6 +4,7 @@ import lombok.Data;
 
 @Data
 public class ForecastAndDecisionResponseDto {
+    private String sku;
     private int forecast;
     private double confidence;
     private Object decision;
@@ -0,0 +1,20 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IntegrationStatsDto {
+    private String endpoint;
+    private String path;
+    private String state;
+    private float failureRate;
+    private float slowCallRate;
+    private int bufferedCalls;
+    private int failedCalls;
+    private long notPermittedCalls;
+    private int availableConcurrentCalls;
+    private int maxConcurrentCalls;
+}
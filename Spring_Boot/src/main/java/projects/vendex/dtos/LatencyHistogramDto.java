@@ -0,0 +1,23 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencyHistogramDto {
+    private String endpoint;
+    private long totalCount;
+    private long recentCount;
+    private double meanMs;
+    private long p50Ms;
+    private long p90Ms;
+    private long p95Ms;
+    private long p99Ms;
+    private long maxMs;
+    // Bucket upper bound (ms) -> samples, non-empty buckets only
+    private Map<Long, Long> buckets;
+}
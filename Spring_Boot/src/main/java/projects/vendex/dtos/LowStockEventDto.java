@@ -0,0 +1,19 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+import projects.vendex.enums.LowStockStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockEventDto {
+    private String sku;
+    private String productName;
+    private int onHand;
+    private int threshold;
+    private LowStockStatus status;
+    private LocalDateTime at;
+}
@@ -0,0 +1,15 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReorderDecisionDto {
+    private String sku;
+    private int quantity;
+    private double unitCost;
+    private double confidence;
+    private String action;
+}
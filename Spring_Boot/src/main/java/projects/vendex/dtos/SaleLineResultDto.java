@@ -0,0 +1,16 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+import projects.vendex.enums.SaleLineStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleLineResultDto {
+    // Position of the line in the submitted batch
+    private int line;
+    private String sku;
+    private SaleLineStatus status;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesBatchResultDto {
+    private int accepted;
+    private int rejected;
+    private List<SaleLineResultDto> lines;
+}
@@ -0,0 +1,25 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesJournalStatsDto {
+    private boolean enabled;
+    private long appendedSeq;
+    private long flushedSeq;
+    // Lines accepted into the journal but not yet in the database
+    private long pendingLines;
+    private long oldestPendingAgeMs;
+    private int segments;
+    private LocalDateTime lastFlushAt;
+    private int lastFlushLines;
+    private long flushFailures;
+    private long rejectedLines;
+    // Acknowledged lines rejected at flush and still unresolved
+    private long deadLetters;
+}
@@ -0,0 +1,15 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAvailabilityDto {
+    private String sku;
+    private int onHand;
+    private int reserved;
+    // onHand - reserved, never below zero
+    private int available;
+}
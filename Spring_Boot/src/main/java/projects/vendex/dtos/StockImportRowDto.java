@@ -0,0 +1,20 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+/**
+ * One product with its stock level, as read from or written to a bulk file.
+ * Wrapper types so a missing column can be told apart from zero.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockImportRowDto {
+    private String sku;
+    private String productName;
+    private String category;
+    private Double unitCost;
+    private Boolean active;
+    private Integer onHand;
+}
@@ -0,0 +1,16 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLedgerCheckDto {
+    private String sku;
+    private int ledgerAvailable;
+    // stock.on_hand plus unreconciled deltas; null when the stock row is gone
+    private Integer databaseAvailable;
+    private boolean consistent;
+    private boolean repaired;
+}
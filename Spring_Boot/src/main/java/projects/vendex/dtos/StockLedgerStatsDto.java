@@ -0,0 +1,19 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLedgerStatsDto {
+    private boolean enabled;
+    private int hotSkus;
+    private int loadedSkus;
+    private long pendingDeltas;
+    private LocalDateTime lastReconcileAt;
+    private int lastReconciledSkus;
+    private long reconcileFailures;
+}
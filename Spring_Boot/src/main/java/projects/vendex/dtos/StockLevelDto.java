@@ -0,0 +1,19 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelDto {
+    private String sku;
+    private LocalDateTime at;
+    private long level;
+    private long snapshotLevel;
+    private LocalDateTime snapshotAsOf;
+    // Movements read on top of the snapshot
+    private long tailMovements;
+}
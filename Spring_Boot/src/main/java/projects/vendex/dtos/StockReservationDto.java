@@ -0,0 +1,19 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+import projects.vendex.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservationDto {
+    private String id;
+    private String basketId;
+    private String sku;
+    private int quantity;
+    private LocalDateTime expiresAt;
+    private ReservationStatus status;
+}
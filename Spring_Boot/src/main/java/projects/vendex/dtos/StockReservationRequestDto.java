@@ -0,0 +1,12 @@
+package projects.vendex.dtos;
+
+import lombok.Data;
+
+@Data
+public class StockReservationRequestDto {
+    private String sku;
+    private int quantity;
+    private String basketId;
+    // Optional; stock.reservation.default-ttl-sec when not set
+    private Integer ttlSeconds;
+}
@@ -0,0 +1,18 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservationStatsDto {
+    private int activeHolds;
+    private long reservedUnits;
+    private int pendingTimeouts;
+    private long reserved;
+    private long committed;
+    private long released;
+    private long expired;
+    private long rejected;
+}
@@ -0,0 +1,12 @@
+package projects.vendex.dtos;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockThresholdDto {
+    private String sku;
+    private int threshold;
+}
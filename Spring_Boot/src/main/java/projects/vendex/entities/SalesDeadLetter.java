@@ -0,0 +1,47 @@
+package projects.vendex.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A journaled sale that was acknowledged but rejected when the journal flushed it,
+ * e.g. because stock ran out in between. Written in the flush transaction, so the
+ * line is either in sales or here; it stays until someone resolves it.
+ */
+@Entity
+@Table(name = "sales_dead_letters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "journal_id", nullable = false)
+    private String journalId;
+
+    @Column(name = "seq", nullable = false)
+    private long seq;
+
+    @Column(name = "sku", nullable = false)
+    private String sku;
+
+    @Column(name = "quantity_sold", nullable = false)
+    private int quantitySold;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
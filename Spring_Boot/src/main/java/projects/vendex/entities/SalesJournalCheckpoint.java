@@ -0,0 +1,26 @@
+package projects.vendex.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last journal sequence number written to the database for one local sales journal.
+ * Updated in the same transaction as the flushed sales, so a replay after a crash
+ * never applies a line twice.
+ */
+@Entity
+@Table(name = "sales_journal_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesJournalCheckpoint {
+
+    @Id
+    @Column(name = "journal_id", nullable = false)
+    private String journalId;
+
+    @Column(name = "flushed_seq", nullable = false)
+    private long flushedSeq;
+}
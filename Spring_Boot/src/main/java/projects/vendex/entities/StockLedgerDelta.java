@@ -0,0 +1,39 @@
+package projects.vendex.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A stock change taken by the in-memory ledger that has not been folded into
+ * stock.on_hand yet. Appended with the sale itself, so it survives a crash, and
+ * deleted by the reconciler in the same transaction that applies it.
+ */
+@Entity
+@Table(name = "stock_ledger_deltas", indexes = @Index(name = "idx_stock_ledger_deltas_sku", columnList = "sku"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLedgerDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku", nullable = false)
+    private String sku;
+
+    @Column(name = "delta", nullable = false)
+    private int delta;
+
+    // Set for sales, so reconciliation can also feed daily_sales_rollup
+    @Column(name = "sale_date")
+    private LocalDate saleDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
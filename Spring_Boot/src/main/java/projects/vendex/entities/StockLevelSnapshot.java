@@ -0,0 +1,48 @@
+package projects.vendex.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A SKU's stock level after every movement written by a transaction below
+ * {@code txidHorizon}. The first snapshot of a SKU is its baseline (horizon 0):
+ * the level before any recorded movement.
+ */
+@Entity
+@Table(name = "stock_snapshots", uniqueConstraints = @UniqueConstraint(
+        name = "uk_stock_snapshots_sku_movement", columnNames = {"sku", "last_movement_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku", nullable = false)
+    private String sku;
+
+    @Column(name = "level", nullable = false)
+    private long level;
+
+    // Highest movement id folded in by this snapshot; 0 for a baseline
+    @Column(name = "last_movement_id", nullable = false)
+    private long lastMovementId;
+
+    // Every transaction below this had finished when the snapshot was taken.
+    // Null only on snapshots from before it was tracked; those are rebuilt.
+    @Column(name = "txid_horizon")
+    private Long txidHorizon;
+
+    // Time of the last covered movement; the snapshot answers queries from here on
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
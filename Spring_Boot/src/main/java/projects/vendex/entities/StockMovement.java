@@ -0,0 +1,49 @@
+package projects.vendex.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import projects.vendex.enums.StockMovementType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One signed change to a SKU's stock level. Rows are only ever appended; the level
+ * at any point is the latest {@link StockLevelSnapshot} plus the movements after it.
+ */
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_sku_id", columnList = "sku, id"),
+        @Index(name = "idx_stock_movements_sku_txid", columnList = "sku, txid"),
+        @Index(name = "idx_stock_movements_occurred_at", columnList = "occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku", nullable = false)
+    private String sku;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private StockMovementType type;
+
+    // Negative for sales
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Id of the writing transaction, filled in by the database. Snapshots cover
+    // movements by transaction rather than by id, since ids commit out of order.
+    @Column(name = "txid", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint DEFAULT (pg_current_xact_id()::text::bigint)")
+    private Long txid;
+}
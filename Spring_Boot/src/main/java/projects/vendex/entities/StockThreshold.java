@@ -0,0 +1,25 @@
+package projects.vendex.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-SKU low-stock threshold; SKUs without a row use stock.watch.default-threshold.
+ */
+@Entity
+@Table(name = "stock_thresholds")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockThreshold {
+
+    @Id
+    @Column(name = "sku", nullable = false)
+    private String sku;
+
+    // Stock is low once on hand is at or below this
+    @Column(name = "threshold", nullable = false)
+    private int threshold;
+}
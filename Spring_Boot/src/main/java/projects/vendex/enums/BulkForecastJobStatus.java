@@ -0,0 +1,7 @@
+package projects.vendex.enums;
+
+public enum BulkForecastJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,28 @@
+package projects.vendex.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats for bulk product + stock import and export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BulkFormat {
+    CSV("text/csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE);
+
+    private final String mediaType;
+
+    public static BulkFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            for (BulkFormat format : values()) {
+                if (contentType.toLowerCase().startsWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Content-Type must be text/csv or " + MediaType.APPLICATION_NDJSON_VALUE);
+    }
+}
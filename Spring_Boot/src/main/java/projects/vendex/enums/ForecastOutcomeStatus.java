@@ -0,0 +1,7 @@
+package projects.vendex.enums;
+
+public enum ForecastOutcomeStatus {
+    DONE,
+    FAILED,
+    SKIPPED
+}
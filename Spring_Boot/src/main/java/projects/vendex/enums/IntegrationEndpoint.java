@@ -0,0 +1,24 @@
+package projects.vendex.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * FastAPI endpoints the backend calls. Each one gets its own circuit breaker and
+ * bulkhead; the default bulkhead size is the max calls in flight against it.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum IntegrationEndpoint {
+    FORECAST("/api/forecast", 16),
+    DECISION("/api/decision", 32),
+    FORECAST_BATCH("/api/forecast-and-decide/batch", 16),
+    FORECAST_AND_DECIDE("/api/forecast-and-decide", 16),
+    PROCESS_INTENT("/api/process-intent", 64),
+    ASSIGN_STAFF("/api/assign-staff", 8),
+    GENERATE_RECEIPT("/api/generate-receipt", 8),
+    SOURCING("/api/sourcing/recommend", 8);
+
+    private final String path;
+    private final int defaultMaxConcurrentCalls;
+}
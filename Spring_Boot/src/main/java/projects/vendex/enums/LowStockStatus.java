@@ -0,0 +1,7 @@
+package projects.vendex.enums;
+
+public enum LowStockStatus {
+    LOW,
+    // Back above its threshold
+    RECOVERED
+}
@@ -0,0 +1,9 @@
+package projects.vendex.enums;
+
+public enum ReservationStatus {
+    ACTIVE,
+    // Turned into a sale
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,8 @@
+package projects.vendex.enums;
+
+public enum SaleLineStatus {
+    ACCEPTED,
+    // Journaled and acknowledged; written to the database by the next flush
+    QUEUED,
+    REJECTED
+}
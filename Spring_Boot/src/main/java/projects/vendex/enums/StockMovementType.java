@@ -0,0 +1,9 @@
+package projects.vendex.enums;
+
+public enum StockMovementType {
+    SALE,
+    // Purchase order receipts
+    RECEIPT,
+    // Manual corrections and the initial stock of a new product
+    ADJUSTMENT
+}
@@ -0,0 +1,8 @@
+package projects.vendex.events;
+
+/**
+ * Published whenever a SKU's stock level or product data is written. Listeners that
+ * keep in-memory copies of stock refresh the SKU once the write has committed.
+ */
+public record StockChangedEvent(String sku) {
+}
@@ -0,0 +1,7 @@
+package projects.vendex.exceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
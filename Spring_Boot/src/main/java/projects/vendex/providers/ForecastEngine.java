@@ -0,0 +1,24 @@
+package projects.vendex.providers;
+
+import projects.vendex.dtos.BatchForecastItemDto;
+import projects.vendex.dtos.BatchForecastResultDto;
+import projects.vendex.dtos.DecisionPayloadDto;
+import projects.vendex.dtos.InventoryDecisionDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ForecastEngine {
+
+    /**
+     * Forecasts demand and decides a reorder for each item. Results are keyed by SKU;
+     * an item that cannot be forecast carries an error instead of a decision.
+     */
+    Mono<Map<String, BatchForecastResultDto>> forecastAndDecide(List<BatchForecastItemDto> items);
+
+    /**
+     * Reorder decision for an already known forecast (e.g. one served from cache).
+     */
+    Mono<InventoryDecisionDto> decide(DecisionPayloadDto payload);
+}
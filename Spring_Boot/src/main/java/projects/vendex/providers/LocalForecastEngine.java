@@ -0,0 +1,147 @@
+package projects.vendex.providers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import projects.vendex.dtos.BatchForecastItemDto;
+import projects.vendex.dtos.BatchForecastResultDto;
+import projects.vendex.dtos.DecisionPayloadDto;
+import projects.vendex.dtos.InventoryDecisionDto;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-JVM port of python/demand.py (least-squares trend over the history, summed over
+ * the next 7 days) and python/decision.py (confidence/cost thresholds).
+ * Keep the two in step when either side changes.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.forecast.engine", havingValue = "local")
+public class LocalForecastEngine implements ForecastEngine {
+
+    private static final int FORECAST_HORIZON_DAYS = 7;
+
+    private static final double HIGH_CONFIDENCE = 0.80;
+    private static final double MID_CONFIDENCE = 0.60;
+    private static final double SAFETY_BUFFER = 1.10;
+    private static final double AUTO_ORDER_MAX_COST = 1000;
+
+    @Override
+    public Mono<Map<String, BatchForecastResultDto>> forecastAndDecide(List<BatchForecastItemDto> items) {
+        return Mono.fromSupplier(() -> {
+            Map<String, BatchForecastResultDto> results = new HashMap<>();
+            for (BatchForecastItemDto item : items) {
+                results.putIfAbsent(item.getSku(), forecastAndDecide(item));
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public Mono<InventoryDecisionDto> decide(DecisionPayloadDto payload) {
+        return Mono.fromSupplier(() -> decide(
+                payload.getForecast(),
+                payload.getConfidence(),
+                payload.getCurrentStock(),
+                payload.getUnitCost()
+        ));
+    }
+
+    private BatchForecastResultDto forecastAndDecide(BatchForecastItemDto item) {
+
+        BatchForecastResultDto result = new BatchForecastResultDto();
+        result.setSku(item.getSku());
+
+        double[] history = item.getSalesHistory();
+        if (history == null || history.length < 2) {
+            result.setError("sales_history must contain at least two data points");
+            return result;
+        }
+
+        int n = history.length;
+
+        // 1. Fit y = intercept + slope * day over days 0..n-1
+        double meanX = (n - 1) / 2.0;
+        double total = 0;
+        for (double y : history) {
+            total += y;
+        }
+        double meanY = total / n;
+
+        double sxy = 0;
+        double sxx = 0;
+        double squaredDeviation = 0;
+        for (int day = 0; day < n; day++) {
+            double dx = day - meanX;
+            double dy = history[day] - meanY;
+            sxy += dx * dy;
+            sxx += dx * dx;
+            squaredDeviation += dy * dy;
+        }
+        double slope = sxx == 0 ? 0 : sxy / sxx;
+        double intercept = meanY - slope * meanX;
+
+        // 2. Sum of predictions for days n..n+6
+        double firstDay = n;
+        double lastDay = n + FORECAST_HORIZON_DAYS - 1;
+        double daySum = (firstDay + lastDay) * FORECAST_HORIZON_DAYS / 2;
+        double forecastTotal = FORECAST_HORIZON_DAYS * intercept + slope * daySum;
+
+        // 3. Confidence (relative std dev vs total sales), floored at 0.5
+        double confidence;
+        if (total <= 0) {
+            confidence = 0.5;
+        } else {
+            double stdDev = Math.sqrt(squaredDeviation / n);
+            confidence = Math.max(0.0, Math.min(1.0, 1.0 - stdDev / total));
+            confidence = Math.max(0.5, confidence);
+        }
+
+        // Math.rint rounds half to even, like Python's round()
+        int forecast = (int) Math.rint(forecastTotal);
+        confidence = Math.rint(confidence * 100) / 100;
+
+        result.setForecast(forecast);
+        result.setConfidence(confidence);
+        result.setDecision(decide(forecast, confidence, item.getCurrentStock(), item.getUnitCost()));
+        return result;
+    }
+
+    public InventoryDecisionDto decide(int forecast, double confidence, int currentStock, double unitCost) {
+
+        double reorderQuantity = forecast * SAFETY_BUFFER - currentStock;
+
+        if (reorderQuantity <= 0) {
+            return decision("NONE", 0, "Stock levels sufficient for forecasted demand.");
+        }
+
+        double totalCost = reorderQuantity * unitCost;
+
+        if (confidence >= HIGH_CONFIDENCE) {
+            if (totalCost < AUTO_ORDER_MAX_COST) {
+                return decision("AUTO_ORDER", (int) reorderQuantity,
+                        "High confidence (" + confidence + ") and low risk.");
+            }
+            return decision("REQUIRE_APPROVAL", (int) reorderQuantity,
+                    "High confidence but high cost. Needs manager signature.");
+        }
+
+        if (confidence >= MID_CONFIDENCE) {
+            return decision("REQUIRE_APPROVAL", (int) reorderQuantity,
+                    "Moderate confidence. Human oversight required.");
+        }
+
+        return decision("FALLBACK_TO_MANUAL", 0,
+                "Low confidence. AI refuses to make a decision.");
+    }
+
+    private InventoryDecisionDto decision(String action, int quantity, String reason) {
+        InventoryDecisionDto decision = new InventoryDecisionDto();
+        decision.setAction(action);
+        decision.setQuantity(quantity);
+        decision.setReason(reason);
+        return decision;
+    }
+}
@@ -8,6 +8,9 @@ import projects.vendex.dtos.RosterDecisionDto;
 import projects.vendex.dtos.RosterInputDto;
 import projects.vendex.dtos.ShiftAssignmentDecisionDto;
 import projects.vendex.dtos.ShiftInputDto;
+import projects.vendex.enums.IntegrationEndpoint;
+import projects.vendex.services.IntegrationResilienceService;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -19,23 +22,20 @@ import java.util.List;
 public class MlRosterDecisionProvider implements RosterDecisionProvider {
 
     private final WebClient mlWebClient;
+    private final IntegrationResilienceService resilience;
 
     @Override
-    public RosterDecisionDto generate(RosterInputDto input) {
+    public Mono<RosterDecisionDto> generate(RosterInputDto input) {
 
-        try {
-            return mlWebClient
-                    .post()
-                    .uri("/api/assign-staff")
-                    .bodyValue(input)
-                    .retrieve()
-                    .bodyToMono(RosterDecisionDto.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-
-        } catch (Exception ex) {
-            return fallbackDecision(input);
-        }
+        return resilience.protect(IntegrationEndpoint.ASSIGN_STAFF, mlWebClient
+                        .post()
+                        .uri("/api/assign-staff")
+                        .bodyValue(input)
+                        .retrieve()
+                        .bodyToMono(RosterDecisionDto.class)
+                        .timeout(Duration.ofSeconds(5)))
+                // Also runs straight away when the breaker is open or the bulkhead is full
+                .onErrorResume(ex -> Mono.fromSupplier(() -> fallbackDecision(input)));
     }
 
     private RosterDecisionDto fallbackDecision(RosterInputDto input) {
@@ -0,0 +1,35 @@
+package projects.vendex.providers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import projects.vendex.dtos.BatchForecastItemDto;
+import projects.vendex.dtos.BatchForecastResultDto;
+import projects.vendex.dtos.DecisionPayloadDto;
+import projects.vendex.dtos.InventoryDecisionDto;
+import projects.vendex.services.InventoryMlService;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delegates to the Python service (demand.py + decision.py) over HTTP.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.forecast.engine", havingValue = "remote", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RemoteForecastEngine implements ForecastEngine {
+
+    private final InventoryMlService inventoryMlService;
+
+    @Override
+    public Mono<Map<String, BatchForecastResultDto>> forecastAndDecide(List<BatchForecastItemDto> items) {
+        return inventoryMlService.forecastAndDecideBatch(items);
+    }
+
+    @Override
+    public Mono<InventoryDecisionDto> decide(DecisionPayloadDto payload) {
+        return inventoryMlService.decision(payload);
+    }
+}
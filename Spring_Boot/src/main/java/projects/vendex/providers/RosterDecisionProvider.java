@@ -2,7 +2,8 @@ package projects.vendex.providers;
 
 import projects.vendex.dtos.RosterDecisionDto;
 import projects.vendex.dtos.RosterInputDto;
+import reactor.core.publisher.Mono;
 
 public interface RosterDecisionProvider {
-    RosterDecisionDto generate(RosterInputDto input);
+    Mono<RosterDecisionDto> generate(RosterInputDto input);
 }
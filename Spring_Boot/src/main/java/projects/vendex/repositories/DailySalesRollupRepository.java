@@ -0,0 +1,68 @@
+package projects.vendex.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.DailySalesRollup;
+import projects.vendex.util.DailySalesView;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface DailySalesRollupRepository
+        extends JpaRepository<DailySalesRollup, DailySalesRollup.Key> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO daily_sales_rollup (sku, sale_date, quantity)
+        VALUES (:sku, :saleDate, :quantity)
+        ON CONFLICT (sku, sale_date)
+        DO UPDATE SET quantity = daily_sales_rollup.quantity + EXCLUDED.quantity
+    """, nativeQuery = true)
+    void addToRollup(
+            @Param("sku") String sku,
+            @Param("saleDate") LocalDate saleDate,
+            @Param("quantity") long quantity
+    );
+
+    // Blocks concurrent sale inserts until the rebuilding transaction ends
+    @Modifying
+    @Query(value = "LOCK TABLE sales IN SHARE MODE", nativeQuery = true)
+    void lockSales();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO daily_sales_rollup (sku, sale_date, quantity)
+        SELECT sku, sale_date, SUM(quantity_sold)
+        FROM sales
+        GROUP BY sku, sale_date
+    """, nativeQuery = true)
+    int backfillFromSales();
+
+    @Query("""
+        SELECT r.sku AS sku, r.saleDate AS saleDate, r.quantity AS quantity
+        FROM DailySalesRollup r
+        WHERE r.sku = :sku AND r.saleDate >= :fromDate
+        ORDER BY r.saleDate
+    """)
+    List<DailySalesView> findDailyTotals(
+            @Param("sku") String sku,
+            @Param("fromDate") LocalDate fromDate
+    );
+
+    // Must be consumed inside a transaction; rows arrive grouped by SKU, oldest day first
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("""
+        SELECT r.sku AS sku, r.saleDate AS saleDate, r.quantity AS quantity
+        FROM DailySalesRollup r
+        WHERE r.saleDate >= :fromDate
+        ORDER BY r.sku, r.saleDate
+    """)
+    Stream<DailySalesView> streamDailyTotals(@Param("fromDate") LocalDate fromDate);
+}
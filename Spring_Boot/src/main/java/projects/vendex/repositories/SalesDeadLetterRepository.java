@@ -0,0 +1,14 @@
+package projects.vendex.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.SalesDeadLetter;
+
+import java.util.List;
+
+@Repository
+public interface SalesDeadLetterRepository
+        extends JpaRepository<SalesDeadLetter, Long> {
+
+    List<SalesDeadLetter> findAllByOrderByIdAsc();
+}
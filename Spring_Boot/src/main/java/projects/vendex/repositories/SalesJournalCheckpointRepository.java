@@ -0,0 +1,30 @@
+package projects.vendex.repositories;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.SalesJournalCheckpoint;
+
+import java.util.Optional;
+
+@Repository
+public interface SalesJournalCheckpointRepository
+        extends JpaRepository<SalesJournalCheckpoint, String> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO sales_journal_checkpoint (journal_id, flushed_seq)
+        VALUES (:journalId, 0)
+        ON CONFLICT (journal_id) DO NOTHING
+    """, nativeQuery = true)
+    void insertIfAbsent(@Param("journalId") String journalId);
+
+    // Serializes flushes of one journal, so two flushers cannot both write a line
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SalesJournalCheckpoint c WHERE c.journalId = :journalId")
+    Optional<SalesJournalCheckpoint> findForUpdate(@Param("journalId") String journalId);
+}
@@ -0,0 +1,21 @@
+package projects.vendex.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.StockLedgerDelta;
+
+@Repository
+public interface StockLedgerDeltaRepository
+        extends JpaRepository<StockLedgerDelta, Long> {
+
+    // on_hand plus everything not reconciled yet, read in one statement so it is consistent
+    @Query(value = """
+        SELECT s.on_hand + COALESCE(
+            (SELECT SUM(d.delta) FROM stock_ledger_deltas d WHERE d.sku = s.sku), 0)
+        FROM stock s
+        WHERE s.sku = :sku
+    """, nativeQuery = true)
+    Integer findAvailable(@Param("sku") String sku);
+}
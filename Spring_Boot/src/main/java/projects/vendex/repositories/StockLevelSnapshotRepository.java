@@ -0,0 +1,20 @@
+package projects.vendex.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.StockLevelSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StockLevelSnapshotRepository
+        extends JpaRepository<StockLevelSnapshot, Long> {
+
+    Optional<StockLevelSnapshot> findFirstBySkuAndAsOfLessThanEqualOrderByTxidHorizonDesc(
+            String sku,
+            LocalDateTime at
+    );
+
+    boolean existsBySku(String sku);
+}
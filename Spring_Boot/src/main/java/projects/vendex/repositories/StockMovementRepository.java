@@ -0,0 +1,31 @@
+package projects.vendex.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.StockMovement;
+import projects.vendex.util.MovementTailView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository
+        extends JpaRepository<StockMovement, Long> {
+
+    // Movements past a snapshot's horizon up to a point in time; a range scan on (sku, txid)
+    @Query("""
+        SELECT COALESCE(SUM(m.quantity), 0) AS quantity, COUNT(m) AS movements
+        FROM StockMovement m
+        WHERE m.sku = :sku AND m.txid >= :horizon AND m.occurredAt <= :at
+    """)
+    MovementTailView sumTail(
+            @Param("sku") String sku,
+            @Param("horizon") long horizon,
+            @Param("at") LocalDateTime at
+    );
+
+    List<StockMovement> findBySkuOrderByIdDesc(String sku, Pageable pageable);
+}
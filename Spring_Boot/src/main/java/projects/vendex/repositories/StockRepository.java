@@ -1,9 +1,69 @@
 package projects.vendex.repositories;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import projects.vendex.entities.Stock;
+import projects.vendex.util.StockProductView;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StockRepository
-        extends JpaRepository<Stock, String> {}
+        extends JpaRepository<Stock, String> {
+
+    @Query("""
+        SELECT s.sku AS sku, p.productName AS productName,
+               p.category AS category, s.onHand AS onHand
+        FROM Stock s JOIN Product p ON p.sku = s.sku
+    """)
+    List<StockProductView> findAllWithProduct();
+
+    @Query("""
+        SELECT s.sku AS sku, p.productName AS productName,
+               p.category AS category, s.onHand AS onHand
+        FROM Stock s JOIN Product p ON p.sku = s.sku
+        WHERE s.sku = :sku
+    """)
+    Optional<StockProductView> findWithProductBySku(@Param("sku") String sku);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.sku = :sku")
+    Optional<Stock> findForUpdate(@Param("sku") String sku);
+
+    // Single-statement check-and-decrement that leaves at least :floor units behind:
+    // 0 rows means unknown SKU or not enough stock
+    @Modifying
+    @Query("""
+        UPDATE Stock s
+        SET s.onHand = s.onHand - :quantity, s.lastUpdated = :today
+        WHERE s.sku = :sku AND s.onHand - :quantity >= :floor
+    """)
+    int decrementIfAvailable(
+            @Param("sku") String sku,
+            @Param("quantity") int quantity,
+            @Param("floor") int floor,
+            @Param("today") LocalDate today
+    );
+
+    // Adds to an existing row or creates it, in one statement
+    @Modifying
+    @Query(value = """
+        INSERT INTO stock (sku, on_hand, last_updated)
+        VALUES (:sku, :quantity, :today)
+        ON CONFLICT (sku)
+        DO UPDATE SET on_hand = stock.on_hand + EXCLUDED.on_hand,
+                      last_updated = EXCLUDED.last_updated
+    """, nativeQuery = true)
+    void increment(
+            @Param("sku") String sku,
+            @Param("quantity") int quantity,
+            @Param("today") LocalDate today
+    );
+}
@@ -0,0 +1,10 @@
+package projects.vendex.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import projects.vendex.entities.StockThreshold;
+
+@Repository
+public interface StockThresholdRepository
+        extends JpaRepository<StockThreshold, String> {
+}
@@ -0,0 +1,176 @@
+package projects.vendex.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.BulkForecastJobDto;
+import projects.vendex.dtos.BulkForecastOutcomeDto;
+import projects.vendex.enums.BulkForecastJobStatus;
+import projects.vendex.exceptions.ConflictException;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.util.InventoryForecastConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs catalog-wide forecasts in the background. Callers get a job id, poll progress
+ * and stream outcomes while the run is going, instead of holding one request open
+ * for the whole catalog.
+ */
+@Slf4j
+@Service
+public class BulkForecastJobService {
+
+    private final InventoryAgentService inventoryAgentService;
+    private final InventoryForecastConfig forecastConfig;
+    private final Scheduler blockingScheduler;
+
+    private final Map<String, BulkForecastJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkForecastJobService(
+            InventoryAgentService inventoryAgentService,
+            InventoryForecastConfig forecastConfig,
+            Scheduler blockingScheduler
+    ) {
+        this.inventoryAgentService = inventoryAgentService;
+        this.forecastConfig = forecastConfig;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    /**
+     * Starts a catalog-wide run. Only one runs at a time, since each run writes its
+     * own consolidated purchase orders.
+     *
+     * @throws ConflictException while another job is running, naming that job
+     */
+    public synchronized BulkForecastJobDto submit() {
+
+        jobs.values().stream()
+                .filter(job -> job.status == BulkForecastJobStatus.RUNNING)
+                .findFirst()
+                .ifPresent(job -> {
+                    throw new ConflictException("Bulk forecast job already running: " + job.id);
+                });
+
+        evictFinishedJobs();
+
+        BulkForecastJob job = new BulkForecastJob(
+                UUID.randomUUID().toString(),
+                inventoryAgentService.countCatalog(),
+                Math.max(1, forecastConfig.getJobReplayLimit())
+        );
+        jobs.put(job.id, job);
+
+        inventoryAgentService.bulkForecastOutcomes()
+                .subscribeOn(blockingScheduler)
+                .subscribe(
+                        job::record,
+                        job::fail,
+                        job::complete
+                );
+
+        log.info("Bulk forecast job {} started for {} SKUs", job.id, job.total);
+        return job.toDto();
+    }
+
+    public BulkForecastJobDto getJob(String jobId) {
+        return findJob(jobId).toDto();
+    }
+
+    /**
+     * Outcomes of the job as they complete. A late subscriber first receives up to
+     * {@code inventory.forecast.job-replay-limit} of the most recent outcomes.
+     */
+    public Flux<BulkForecastOutcomeDto> streamOutcomes(String jobId) {
+        return findJob(jobId).outcomes.asFlux();
+    }
+
+    private BulkForecastJob findJob(String jobId) {
+        BulkForecastJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Bulk forecast job not found: " + jobId);
+        }
+        return job;
+    }
+
+    // Keeps at most inventory.forecast.max-jobs, dropping the oldest finished ones first
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - Math.max(1, forecastConfig.getMaxJobs()) + 1;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.status != BulkForecastJobStatus.RUNNING)
+                .sorted(Comparator.comparing(job -> job.startedAt))
+                .limit(excess)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    private static class BulkForecastJob {
+
+        private final String id;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Sinks.Many<BulkForecastOutcomeDto> outcomes;
+
+        private final AtomicLong done = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+
+        private volatile BulkForecastJobStatus status = BulkForecastJobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        BulkForecastJob(String id, long total, int replayLimit) {
+            this.id = id;
+            this.total = total;
+            this.outcomes = Sinks.many().replay().limit(replayLimit);
+        }
+
+        void record(BulkForecastOutcomeDto outcome) {
+            switch (outcome.getStatus()) {
+                case DONE -> done.incrementAndGet();
+                case FAILED -> failed.incrementAndGet();
+                case SKIPPED -> skipped.incrementAndGet();
+            }
+            outcomes.tryEmitNext(outcome);
+        }
+
+        void complete() {
+            status = BulkForecastJobStatus.COMPLETED;
+            finishedAt = LocalDateTime.now();
+            outcomes.tryEmitComplete();
+            log.info("Bulk forecast job {} completed: {} done, {} failed, {} skipped",
+                    id, done.get(), failed.get(), skipped.get());
+        }
+
+        void fail(Throwable e) {
+            status = BulkForecastJobStatus.FAILED;
+            finishedAt = LocalDateTime.now();
+            error = e.getMessage();
+            outcomes.tryEmitError(e);
+            log.error("Bulk forecast job {} failed: {}", id, e.getMessage());
+        }
+
+        BulkForecastJobDto toDto() {
+            return BulkForecastJobDto.builder()
+                    .jobId(id)
+                    .status(status)
+                    .total(total)
+                    .done(done.get())
+                    .failed(failed.get())
+                    .skipped(skipped.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
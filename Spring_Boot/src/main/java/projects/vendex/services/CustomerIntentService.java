@@ -1,71 +1,142 @@
 package projects.vendex.services;
 
 import lombok.extern.slf4j.Slf4j;
+import projects.vendex.dtos.CacheStatsDto;
 import projects.vendex.dtos.CustomerIntentRequestDto;
 import projects.vendex.dtos.CustomerIntentResponseDto;
 import projects.vendex.dtos.StockItemDto;
-import projects.vendex.entities.Product;
-import projects.vendex.entities.Stock;
-import projects.vendex.repositories.ProductRepository;
-import projects.vendex.repositories.StockRepository;
+import projects.vendex.enums.IntegrationEndpoint;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import projects.vendex.util.CustomerIntentConfig;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerIntentService {
 
-    private final StockRepository stockRepository;
-    private final ProductRepository productRepository;
+    private final StockSnapshotService stockSnapshotService;
     private final WebClient customerAgentWebClient;
+    private final IntegrationResilienceService resilience;
+    private final IntegrationLatencyService latencyService;
+    private final CustomerIntentConfig intentConfig;
+    private final IntentResponseCacheService intentCache;
 
-    public CustomerIntentResponseDto processIntent(String userInput) {
+    private final AtomicLong intentCalls = new AtomicLong();
+    private final AtomicLong hedgedCalls = new AtomicLong();
 
-        List<StockItemDto> stockList =
-                stockRepository.findAll()
-                        .stream()
-                        .map(this::mapToStockItem)
-                        .toList();
+    public CacheStatsDto getCacheStats() {
+        return intentCache.getStats();
+    }
+
+    public Mono<CustomerIntentResponseDto> processIntent(String userInput) {
+
+        // 1️⃣ Build the stock context from the in-memory snapshot (no DB round trip)
+        return Mono.fromCallable(() -> buildRequest(userInput))
+                // 2️⃣ Serve a cached answer for the same message over the same stock, else call FastAPI
+                .flatMap(request -> {
+                    long fingerprint = IntentResponseCacheService.fingerprint(request.getStock_list());
+                    CustomerIntentResponseDto cached = intentCache.get(userInput, fingerprint);
+                    if (cached != null) {
+                        return Mono.just(cached);
+                    }
+                    // Only real answers are cached; the fallback below is not
+                    return callIntent(request)
+                            .doOnNext(response -> intentCache.put(userInput, fingerprint, response));
+                })
+                .onErrorResume(ex -> {
+                    log.warn(ex.getMessage());
+                    return Mono.just(fallbackResponse());
+                });
+    }
 
-        CustomerIntentRequestDto request =
-                CustomerIntentRequestDto.builder()
-                        .user_input(userInput)
-                        .stock_list(stockList)
-                        .build();
-
-        // 2️⃣ Call FastAPI
-        try {
-            return customerAgentWebClient
-                    .post()
-                    .uri("/api/process-intent")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(CustomerIntentResponseDto.class)
-                    .timeout(Duration.ofSeconds(15))
-                    .block();
-
-        } catch (Exception ex) {
-            log.warn(ex.getMessage());
-            return fallbackResponse();
+    /**
+     * Each attempt gets a timeout derived from recent p99. With hedging on, a second
+     * attempt starts once the first has run past p95 and whichever answers first wins;
+     * a first attempt that fails outright is not hedged, so fallbacks stay immediate.
+     */
+    private Mono<CustomerIntentResponseDto> callIntent(CustomerIntentRequestDto request) {
+
+        intentCalls.incrementAndGet();
+
+        Duration timeout = latencyService.adaptiveTimeout(
+                IntegrationEndpoint.PROCESS_INTENT,
+                intentConfig.getTimeoutMultiplier(),
+                Duration.ofMillis(intentConfig.getMinTimeoutMs()),
+                Duration.ofMillis(intentConfig.getMaxTimeoutMs())
+        );
+
+        Duration hedgeDelay = hedgeDelay();
+        if (hedgeDelay == null) {
+            return attemptIntent(request, timeout);
         }
+
+        Sinks.One<Boolean> primaryFailed = Sinks.one();
+
+        Mono<CustomerIntentResponseDto> primary = attemptIntent(request, timeout)
+                .doOnError(ex -> primaryFailed.tryEmitValue(true));
+
+        Mono<CustomerIntentResponseDto> hedge = Mono.delay(hedgeDelay)
+                .takeUntilOther(primaryFailed.asMono())
+                .flatMap(tick -> {
+                    if (!withinHedgeBudget()) {
+                        return Mono.empty();
+                    }
+                    hedgedCalls.incrementAndGet();
+                    return attemptIntent(request, timeout);
+                });
+
+        return Mono.firstWithValue(primary, hedge);
+    }
+
+    private Mono<CustomerIntentResponseDto> attemptIntent(CustomerIntentRequestDto request, Duration timeout) {
+        return resilience.protect(IntegrationEndpoint.PROCESS_INTENT,
+                customerAgentWebClient
+                        .post()
+                        .uri("/api/process-intent")
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(CustomerIntentResponseDto.class)
+                        .timeout(timeout));
+    }
+
+    private Duration hedgeDelay() {
+        if (!intentConfig.isHedgeEnabled()) {
+            return null;
+        }
+        // No hedging until p95 is known
+        Duration p95 = latencyService.percentile(IntegrationEndpoint.PROCESS_INTENT, 0.95);
+        if (p95 == null) {
+            return null;
+        }
+        return p95.compareTo(Duration.ofMillis(intentConfig.getHedgeMinDelayMs())) < 0
+                ? Duration.ofMillis(intentConfig.getHedgeMinDelayMs())
+                : p95;
+    }
+
+    private boolean withinHedgeBudget() {
+        return hedgedCalls.get() * 100.0 < intentCalls.get() * intentConfig.getHedgeBudgetPercent();
     }
 
-    private StockItemDto mapToStockItem(Stock stock) {
+    private CustomerIntentRequestDto buildRequest(String userInput) {
 
-        Product product =
-                productRepository.findById(stock.getSku())
-                        .orElseThrow();
+        List<StockItemDto> stockList =
+                stockSnapshotService.search(userInput, Math.max(1, intentConfig.getMaxCandidates()))
+                        .stream()
+                        .map(StockSnapshotService.Item::toStockItem)
+                        .toList();
 
-        return StockItemDto.builder()
-                .sku(stock.getSku())
-                .name(product.getProductName())
-                .onHand(stock.getOnHand())
+        return CustomerIntentRequestDto.builder()
+                .user_input(userInput)
+                .stock_list(stockList)
                 .build();
     }
 
@@ -7,28 +7,29 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import projects.vendex.dtos.ReceiptRequestDto;
 import projects.vendex.dtos.SourcingRequestDto;
+import projects.vendex.enums.IntegrationEndpoint;
 
 @Service
 @RequiredArgsConstructor
 public class FastApiIntegrationService {
 
     private final WebClient fastApiWebClient;
+    private final IntegrationResilienceService resilience;
 
     /**
      * Calls FastAPI /api/generate-receipt
      * Returns PDF as byte[]
      */
-    public byte[] generateReceipt(ReceiptRequestDto payload) {
+    public Mono<byte[]> generateReceipt(ReceiptRequestDto payload) {
 
-        return fastApiWebClient.post()
+        return resilience.protect(IntegrationEndpoint.GENERATE_RECEIPT, fastApiWebClient.post()
                 .uri("/api/generate-receipt")
                 .bodyValue(payload)
                 .retrieve()
+                // Kept as WebClientResponseException so the breaker ignores caller errors
                 .onStatus(
                         HttpStatusCode::is4xxClientError,
-                        response -> Mono.error(
-                                new RuntimeException("FastAPI 4xx error while generating receipt")
-                        )
+                        response -> response.createException().flatMap(Mono::error)
                 )
                 .onStatus(
                         HttpStatusCode::is5xxServerError,
@@ -36,25 +37,23 @@ public class FastApiIntegrationService {
                                 new RuntimeException("FastAPI 5xx error while generating receipt")
                         )
                 )
-                .bodyToMono(byte[].class)
-                .block();
+                .bodyToMono(byte[].class));
     }
 
     /**
      * Calls FastAPI /api/sourcing/recommend
      * Returns JSON (recommendation result)
      */
-    public Object recommendManufacturer(SourcingRequestDto payload) {
+    public Mono<Object> recommendManufacturer(SourcingRequestDto payload) {
 
-        return fastApiWebClient.post()
+        return resilience.protect(IntegrationEndpoint.SOURCING, fastApiWebClient.post()
                 .uri("/api/sourcing/recommend")
                 .bodyValue(payload)
                 .retrieve()
+                // Kept as WebClientResponseException so the breaker ignores caller errors
                 .onStatus(
                         HttpStatusCode::is4xxClientError,
-                        response -> Mono.error(
-                                new RuntimeException("FastAPI 4xx error while recommending manufacturer")
-                        )
+                        response -> response.createException().flatMap(Mono::error)
                 )
                 .onStatus(
                         HttpStatusCode::is5xxServerError,
@@ -62,7 +61,6 @@ public class FastApiIntegrationService {
                                 new RuntimeException("FastAPI 5xx error while recommending manufacturer")
                         )
                 )
-                .bodyToMono(Object.class)
-                .block();
+                .bodyToMono(Object.class));
     }
 }
@@ -0,0 +1,59 @@
+package projects.vendex.services;
+
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.CacheStatsDto;
+import projects.vendex.dtos.ForecastResponseDto;
+import projects.vendex.util.BoundedCache;
+import projects.vendex.util.InventoryForecastConfig;
+
+import java.time.LocalDate;
+
+/**
+ * Caches the forecast part of a forecast run per SKU. An entry is only served while
+ * the sales window it was computed from is unchanged (same fingerprint), and is
+ * dropped eagerly when a sale is recorded for the SKU.
+ */
+@Service
+public class ForecastCacheService {
+
+    private final BoundedCache<String, CachedForecast> cache;
+
+    public ForecastCacheService(InventoryForecastConfig forecastConfig) {
+        this.cache = new BoundedCache<>(forecastConfig.getCacheSize());
+    }
+
+    public ForecastResponseDto get(String sku, long fingerprint) {
+        CachedForecast cached = cache.getIf(sku, entry -> entry.fingerprint() == fingerprint);
+        return cached == null ? null : cached.forecast();
+    }
+
+    public void put(String sku, long fingerprint, int forecast, double confidence) {
+        ForecastResponseDto response = new ForecastResponseDto();
+        response.setForecast(forecast);
+        response.setConfidence(confidence);
+        cache.put(sku, new CachedForecast(fingerprint, response));
+    }
+
+    public void invalidate(String sku) {
+        cache.invalidate(sku);
+    }
+
+    public CacheStatsDto getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 64-bit fingerprint of a sales window: its first day plus every daily value.
+     */
+    public static long fingerprint(LocalDate start, double[] window) {
+        long hash = 0xcbf29ce484222325L ^ start.toEpochDay();
+        for (double value : window) {
+            hash ^= Double.doubleToLongBits(value);
+            hash *= 0x100000001b3L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    private record CachedForecast(long fingerprint, ForecastResponseDto forecast) {}
+}
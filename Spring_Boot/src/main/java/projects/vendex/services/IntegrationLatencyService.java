@@ -0,0 +1,80 @@
+package projects.vendex.services;
+
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.LatencyHistogramDto;
+import projects.vendex.enums.IntegrationEndpoint;
+import projects.vendex.util.LatencyHistogram;
+import projects.vendex.util.MlLatencyConfig;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Latency histogram per FastAPI endpoint. Feeds adaptive timeouts and hedge delays.
+ */
+@Service
+public class IntegrationLatencyService {
+
+    private final MlLatencyConfig config;
+    private final Map<IntegrationEndpoint, LatencyHistogram> histograms = new EnumMap<>(IntegrationEndpoint.class);
+
+    public IntegrationLatencyService(MlLatencyConfig config) {
+        this.config = config;
+        long windowMs = Duration.ofSeconds(Math.max(1, config.getWindowSec())).toMillis();
+        for (IntegrationEndpoint endpoint : IntegrationEndpoint.values()) {
+            histograms.put(endpoint, new LatencyHistogram(windowMs));
+        }
+    }
+
+    /**
+     * Records how long each subscription to {@code call} took. Timeouts count at the
+     * time they fired, so a slowing service pushes the percentiles up rather than
+     * disappearing from them.
+     */
+    public <T> Mono<T> timed(IntegrationEndpoint endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> record(endpoint, start))
+                    .doOnError(TimeoutException.class, ex -> record(endpoint, start));
+        });
+    }
+
+    /**
+     * The q-quantile of recent latency, or null until there are enough samples.
+     */
+    public Duration percentile(IntegrationEndpoint endpoint, double q) {
+        LatencyHistogram histogram = histograms.get(endpoint);
+        if (histogram.recentCount() < config.getMinSamples()) {
+            return null;
+        }
+        return Duration.ofMillis(histogram.percentile(q));
+    }
+
+    /**
+     * p99 x multiplier, clamped to [min, max]. Until there are enough samples, max.
+     */
+    public Duration adaptiveTimeout(IntegrationEndpoint endpoint, double multiplier, Duration min, Duration max) {
+        Duration p99 = percentile(endpoint, 0.99);
+        if (p99 == null) {
+            return max;
+        }
+        long millis = (long) (p99.toMillis() * multiplier);
+        return Duration.ofMillis(Math.min(max.toMillis(), Math.max(min.toMillis(), millis)));
+    }
+
+    public List<LatencyHistogramDto> getHistograms() {
+        return Arrays.stream(IntegrationEndpoint.values())
+                .map(endpoint -> histograms.get(endpoint).snapshot(endpoint.name()))
+                .toList();
+    }
+
+    private void record(IntegrationEndpoint endpoint, long startNanos) {
+        histograms.get(endpoint).record(Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+    }
+}
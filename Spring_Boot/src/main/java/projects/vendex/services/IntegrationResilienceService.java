@@ -0,0 +1,103 @@
+package projects.vendex.services;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import projects.vendex.dtos.IntegrationStatsDto;
+import projects.vendex.enums.IntegrationEndpoint;
+import projects.vendex.util.MlResilienceConfig;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Circuit breaker + bulkhead per FastAPI endpoint. When the Python side is down or
+ * saturated, calls fail at once with CallNotPermittedException / BulkheadFullException
+ * so callers' fallbacks run immediately instead of after their full timeout.
+ */
+@Slf4j
+@Service
+public class IntegrationResilienceService {
+
+    private final Map<IntegrationEndpoint, CircuitBreaker> breakers = new EnumMap<>(IntegrationEndpoint.class);
+    private final Map<IntegrationEndpoint, Bulkhead> bulkheads = new EnumMap<>(IntegrationEndpoint.class);
+    private final IntegrationLatencyService latencyService;
+
+    public IntegrationResilienceService(MlResilienceConfig config, IntegrationLatencyService latencyService) {
+
+        this.latencyService = latencyService;
+
+        CircuitBreakerConfig breakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slowCallRateThreshold(config.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(config.getSlowCallMs()))
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumCalls())
+                .waitDurationInOpenState(Duration.ofMillis(config.getOpenStateMs()))
+                .permittedNumberOfCallsInHalfOpenState(config.getHalfOpenCalls())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead or a rejected request is not a sign the service is unhealthy
+                .ignoreExceptions(BulkheadFullException.class)
+                .ignoreException(IntegrationResilienceService::isClientError)
+                .build();
+
+        for (IntegrationEndpoint endpoint : IntegrationEndpoint.values()) {
+
+            CircuitBreaker breaker = CircuitBreaker.of(endpoint.name(), breakerConfig);
+            breaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Circuit breaker {} ({}): {}",
+                            endpoint, endpoint.getPath(), event.getStateTransition()));
+            breakers.put(endpoint, breaker);
+
+            bulkheads.put(endpoint, Bulkhead.of(endpoint.name(), BulkheadConfig.custom()
+                    .maxConcurrentCalls(Math.max(1, config.maxConcurrentCalls(endpoint)))
+                    // Never park a caller waiting for a slot
+                    .maxWaitDuration(Duration.ZERO)
+                    .build()));
+        }
+    }
+
+    public <T> Mono<T> protect(IntegrationEndpoint endpoint, Mono<T> call) {
+        return latencyService.timed(endpoint, call)
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(endpoint)))
+                .transformDeferred(CircuitBreakerOperator.of(breakers.get(endpoint)));
+    }
+
+    public List<IntegrationStatsDto> getStats() {
+        return Arrays.stream(IntegrationEndpoint.values())
+                .map(endpoint -> {
+                    CircuitBreaker.Metrics breaker = breakers.get(endpoint).getMetrics();
+                    Bulkhead.Metrics bulkhead = bulkheads.get(endpoint).getMetrics();
+                    return IntegrationStatsDto.builder()
+                            .endpoint(endpoint.name())
+                            .path(endpoint.getPath())
+                            .state(breakers.get(endpoint).getState().name())
+                            .failureRate(breaker.getFailureRate())
+                            .slowCallRate(breaker.getSlowCallRate())
+                            .bufferedCalls(breaker.getNumberOfBufferedCalls())
+                            .failedCalls(breaker.getNumberOfFailedCalls())
+                            .notPermittedCalls(breaker.getNumberOfNotPermittedCalls())
+                            .availableConcurrentCalls(bulkhead.getAvailableConcurrentCalls())
+                            .maxConcurrentCalls(bulkhead.getMaxAllowedConcurrentCalls())
+                            .build();
+                })
+                .toList();
+    }
+
+    private static boolean isClientError(Throwable ex) {
+        return ex instanceof WebClientResponseException response
+                && response.getStatusCode().is4xxClientError();
+    }
+}
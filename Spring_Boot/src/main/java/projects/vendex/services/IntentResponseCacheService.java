@@ -0,0 +1,75 @@
+package projects.vendex.services;
+
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.CacheStatsDto;
+import projects.vendex.dtos.CustomerIntentResponseDto;
+import projects.vendex.dtos.StockItemDto;
+import projects.vendex.util.BoundedCache;
+import projects.vendex.util.CustomerIntentConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Caches LLM answers to shopper messages. The key is the normalized message, and an
+ * entry is only served while the stock items it was answered from are unchanged
+ * (same candidate fingerprint), so a stock change on a relevant SKU invalidates it
+ * while sales of unrelated SKUs do not.
+ */
+@Service
+public class IntentResponseCacheService {
+
+    private final BoundedCache<String, CachedIntent> cache;
+
+    public IntentResponseCacheService(CustomerIntentConfig intentConfig) {
+        this.cache = new BoundedCache<>(
+                intentConfig.getCacheSize(),
+                Duration.ofSeconds(Math.max(1, intentConfig.getCacheTtlSec()))
+        );
+    }
+
+    public CustomerIntentResponseDto get(String userInput, long fingerprint) {
+        CachedIntent cached = cache.getIf(normalize(userInput), entry -> entry.fingerprint() == fingerprint);
+        return cached == null ? null : cached.response();
+    }
+
+    public void put(String userInput, long fingerprint, CustomerIntentResponseDto response) {
+        cache.put(normalize(userInput), new CachedIntent(fingerprint, response));
+    }
+
+    public CacheStatsDto getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Lower-cased, punctuation-free, single-spaced: "Do you have MILK?" -> "do you have milk".
+     */
+    public static String normalize(String userInput) {
+        return userInput == null ? "" : userInput.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    /**
+     * 64-bit FNV-1a fingerprint of the candidate items sent to the model, in order.
+     * Hashes each item's Lombok toString(), which lists every field, so a rename or
+     * any field added to StockItemDto later also changes the fingerprint.
+     */
+    public static long fingerprint(List<StockItemDto> stockList) {
+        long hash = 0xcbf29ce484222325L;
+        for (StockItemDto item : stockList) {
+            String text = item.toString();
+            for (int i = 0; i < text.length(); i++) {
+                hash ^= text.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            // Item separator, so field text cannot run across item boundaries
+            hash ^= 0x1e;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private record CachedIntent(long fingerprint, CustomerIntentResponseDto response) {}
+}
@@ -1,32 +1,57 @@
 package projects.vendex.services;
 
+import lombok.extern.slf4j.Slf4j;
 import projects.vendex.dtos.*;
 import projects.vendex.entities.*;
+import projects.vendex.enums.ForecastOutcomeStatus;
 import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.providers.ForecastEngine;
 import projects.vendex.repositories.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import projects.vendex.util.InventoryAgentMapper;
+import projects.vendex.util.InventoryForecastConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class InventoryAgentService {
 
-    private final InventoryMlService inventoryMlService;
+    private final ForecastEngine forecastEngine;
     private final ProductRepository productRepository;
-    private final SalesRepository salesRepository;
+    private final SalesHistoryService salesHistoryService;
     private final StockRepository stockRepository;
     private final InventoryAgentMapper inventoryAgentMapper;
     private final PurchaseOrderService purchaseOrderService;
+    private final InventoryForecastConfig forecastConfig;
+    private final ForecastCacheService forecastCacheService;
+    private final Scheduler blockingScheduler;
 
     private static final int FORECAST_LOOKBACK_DAYS = 30;
 
-    public ForecastAndDecisionResponseDto forecastAndDecide(String sku) {
+    /**
+     * Forecast + decision for one SKU. Database work runs on the blocking
+     * scheduler; the engine call itself does not hold a thread.
+     */
+    public Mono<ForecastAndDecisionResponseDto> forecastAndDecide(String sku) {
+        return Mono.fromCallable(() -> prepareForecast(sku))
+                .subscribeOn(blockingScheduler)
+                .flatMap(this::forecastAndDecide);
+    }
+
+    private PreparedForecast prepareForecast(String sku) {
 
         Product product = productRepository.findById(sku)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid SKU: " + sku));
@@ -34,48 +59,312 @@ public class InventoryAgentService {
         Stock stock = stockRepository.findById(sku)
                 .orElseThrow(() -> new NotFoundException("Stock not found for SKU: " + sku));
 
-        LocalDate fromDate = LocalDate.now().minusDays(FORECAST_LOOKBACK_DAYS);
+        LocalDate start = lookbackStart();
+        double[] salesHistory =
+                salesHistoryService.getDailySeries(sku, start, FORECAST_LOOKBACK_DAYS);
 
-        List<SalesRecord> salesRecords =
-                salesRepository.findBySkuAndSaleDateAfter(sku, fromDate);
+        return new PreparedForecast(
+                product,
+                stock,
+                buildForecastItem(product, stock, salesHistory),
+                ForecastCacheService.fingerprint(start, salesHistory)
+        );
+    }
 
-        Map<LocalDate, Integer> dailySalesMap =
-                salesRecords.stream()
-                        .collect(Collectors.groupingBy(
-                                SalesRecord::getSaleDate,
-                                Collectors.summingInt(SalesRecord::getQuantitySold)
-                        ));
+    private Mono<ForecastAndDecisionResponseDto> forecastAndDecide(PreparedForecast prepared) {
 
-        List<Double> salesHistory =
-                dailySalesMap.entrySet().stream()
-                        .sorted(Map.Entry.comparingByKey())
-                        .map(e -> e.getValue().doubleValue())
-                        .toList();
+        String sku = prepared.product().getSku();
 
-        if (salesHistory.isEmpty()) {
-            throw new IllegalStateException("Insufficient sales data for SKU: " + sku);
+        // Same sales window as last time: reuse the forecast, only the decision is recomputed
+        ForecastResponseDto cached = forecastCacheService.get(sku, prepared.fingerprint());
+        if (cached != null) {
+            DecisionPayloadDto decisionPayload =
+                    inventoryAgentMapper.toDecisionPayloadDto(
+                            cached.getForecast(),
+                            cached.getConfidence(),
+                            prepared.stock(),
+                            prepared.product()
+                    );
+
+            return forecastEngine.decide(decisionPayload)
+                    .publishOn(blockingScheduler)
+                    .map(decision -> applyDecision(
+                            sku,
+                            cached.getForecast(),
+                            cached.getConfidence(),
+                            decision
+                    ));
         }
 
-        // 1. Forecast
-        SalesHistoryDto forecastRequest = new SalesHistoryDto();
-        forecastRequest.setSalesHistory(salesHistory);
+        return forecastEngine.forecastAndDecide(List.of(prepared.item()))
+                .map(results -> {
+                    BatchForecastResultDto result = results.get(sku);
+                    if (result == null || result.getError() != null) {
+                        throw new IllegalStateException("Forecast failed for SKU " + sku + ": "
+                                + (result == null ? "no result returned" : result.getError()));
+                    }
+                    forecastCacheService.put(sku, prepared.fingerprint(), result.getForecast(), result.getConfidence());
+                    return result;
+                })
+                .publishOn(blockingScheduler)
+                .map(this::applyDecision);
+    }
+
+    public CacheStatsDto getForecastCacheStats() {
+        return forecastCacheService.getStats();
+    }
+
+    /**
+     * Runs forecast + decision for the whole catalog and returns the successful results.
+     * A failing SKU is logged and skipped.
+     */
+    public Mono<List<ForecastAndDecisionResponseDto>> bulkForecastAndDecide() {
+        return bulkForecastOutcomes()
+                .filter(outcome -> outcome.getStatus() == ForecastOutcomeStatus.DONE)
+                .map(BulkForecastOutcomeDto::getResult)
+                .collectList();
+    }
+
+    public long countCatalog() {
+        return productRepository.count();
+    }
+
+    /**
+     * Streams one outcome per product as the catalog run progresses. SKUs are sent to
+     * the forecast engine in batches of {@code inventory.forecast.batch-size}, with at most
+     * {@code inventory.forecast.concurrency} batches in flight, so the run is bound by
+     * engine throughput rather than the sum of round trips.
+     * <p>
+     * Reorder decisions are collected over the run and written as consolidated POs
+     * once every SKU has been processed.
+     */
+    public Flux<BulkForecastOutcomeDto> bulkForecastOutcomes() {
+
+        return Flux.defer(() -> {
+            Queue<ReorderDecisionDto> reorders = new ConcurrentLinkedQueue<>();
+
+            Flux<BulkForecastOutcomeDto> outcomes =
+                    Mono.fromCallable(this::loadBulkInputs)
+                            .subscribeOn(blockingScheduler)
+                            .flatMapMany(inputs -> Flux.fromIterable(inputs.products())
+                                    .buffer(Math.max(1, forecastConfig.getBatchSize()))
+                                    .flatMap(
+                                            batch -> forecastAndDecideBatch(batch, inputs, reorders),
+                                            Math.max(1, forecastConfig.getConcurrency())
+                                    ));
+
+            Mono<BulkForecastOutcomeDto> consolidate =
+                    Mono.<BulkForecastOutcomeDto>fromRunnable(() -> createPurchaseOrders(reorders))
+                            .subscribeOn(blockingScheduler);
+
+            return outcomes.concatWith(consolidate);
+        });
+    }
+
+    private void createPurchaseOrders(Queue<ReorderDecisionDto> reorders) {
+        if (reorders.isEmpty()) {
+            return;
+        }
+        List<Long> poIds = purchaseOrderService.createConsolidated(
+                new ArrayList<>(reorders),
+                forecastConfig.getPoMaxItems()
+        );
+        log.info("Bulk forecast created {} purchase orders for {} SKUs", poIds.size(), reorders.size());
+    }
+
+    private BulkInputs loadBulkInputs() {
+
+        Map<String, Stock> stockBySku =
+                stockRepository.findAll()
+                        .stream()
+                        .collect(Collectors.toMap(Stock::getSku, Function.identity()));
+
+        LocalDate start = lookbackStart();
+        Map<String, double[]> historyBySku =
+                salesHistoryService.getDailySeries(start, FORECAST_LOOKBACK_DAYS);
+
+        return new BulkInputs(productRepository.findAll(), stockBySku, historyBySku, start);
+    }
+
+    /**
+     * One engine call (a single round trip when remote) for the whole batch. Fresh
+     * forecasts also warm the forecast cache for the single-SKU endpoint.
+     */
+    private Flux<BulkForecastOutcomeDto> forecastAndDecideBatch(
+            List<Product> batch,
+            BulkInputs inputs,
+            Queue<ReorderDecisionDto> reorders
+    ) {
+
+        List<BulkForecastOutcomeDto> skipped = new ArrayList<>();
+        List<BatchForecastItemDto> items = buildForecastItems(batch, inputs, skipped);
+
+        Flux<BulkForecastOutcomeDto> forecasted =
+                forecastEngine.forecastAndDecide(items)
+                        .doOnNext(results -> cacheForecasts(items, results, inputs.start()))
+                        .flatMapIterable(results -> collectDecisions(items, results, reorders))
+                        .onErrorResume(e -> {
+                            log.error("Error processing batch of {} SKUs: {}", items.size(), e.getMessage());
+                            return Flux.fromIterable(items)
+                                    .map(item -> failed(item.getSku(), e.getMessage()));
+                        });
+
+        return Flux.fromIterable(skipped).concatWith(forecasted);
+    }
+
+    private List<BatchForecastItemDto> buildForecastItems(
+            List<Product> batch,
+            BulkInputs inputs,
+            List<BulkForecastOutcomeDto> skipped
+    ) {
 
-        ForecastResponseDto forecastResponse =
-                inventoryMlService.getForecast(forecastRequest);
+        List<BatchForecastItemDto> items = new ArrayList<>(batch.size());
 
-        // 2. Decision payload
-        DecisionPayloadDto decisionPayload =
-                inventoryAgentMapper.toDecisionPayloadDto(
-                        forecastResponse.getForecast(),
-                        forecastResponse.getConfidence(),
+        for (Product product : batch) {
+            String sku = product.getSku();
+            Stock stock = inputs.stockBySku().get(sku);
+            if (stock == null) {
+                log.warn("Skipping SKU {}: stock not found", sku);
+                skipped.add(skipped(sku, "Stock not found for SKU: " + sku));
+                continue;
+            }
+            try {
+                items.add(buildForecastItem(
+                        product,
                         stock,
-                        product
+                        inputs.historyBySku().getOrDefault(sku, SalesHistoryService.NO_SALES)
+                ));
+            } catch (IllegalStateException e) {
+                // Skip products with insufficient data
+                log.info("Skipping SKU {}: {}", sku, e.getMessage());
+                skipped.add(skipped(sku, e.getMessage()));
+            }
+        }
+
+        return items;
+    }
+
+    private List<BulkForecastOutcomeDto> collectDecisions(
+            List<BatchForecastItemDto> items,
+            Map<String, BatchForecastResultDto> results,
+            Queue<ReorderDecisionDto> reorders
+    ) {
+
+        List<BulkForecastOutcomeDto> outcomes = new ArrayList<>(items.size());
+
+        for (BatchForecastItemDto item : items) {
+            String sku = item.getSku();
+            BatchForecastResultDto result = results.get(sku);
+
+            if (result == null || result.getError() != null) {
+                String error = result == null ? "No result returned" : result.getError();
+                log.warn("Forecast failed for SKU {}: {}", sku, error);
+                outcomes.add(failed(sku, error));
+                continue;
+            }
+
+            InventoryDecisionDto decision = result.getDecision();
+            if (decision.getQuantity() > 0) {
+                reorders.add(ReorderDecisionDto.builder()
+                        .sku(sku)
+                        .quantity(decision.getQuantity())
+                        .unitCost(item.getUnitCost())
+                        .confidence(result.getConfidence())
+                        .action(decision.getAction())
+                        .build());
+            }
+
+            outcomes.add(BulkForecastOutcomeDto.builder()
+                    .sku(sku)
+                    .status(ForecastOutcomeStatus.DONE)
+                    .result(inventoryAgentMapper.toForecastAndDecisionResponse(
+                            sku,
+                            result.getForecast(),
+                            result.getConfidence(),
+                            decision
+                    ))
+                    .build());
+        }
+
+        return outcomes;
+    }
+
+    private BulkForecastOutcomeDto failed(String sku, String message) {
+        return BulkForecastOutcomeDto.builder()
+                .sku(sku)
+                .status(ForecastOutcomeStatus.FAILED)
+                .message(message)
+                .build();
+    }
+
+    private BulkForecastOutcomeDto skipped(String sku, String message) {
+        return BulkForecastOutcomeDto.builder()
+                .sku(sku)
+                .status(ForecastOutcomeStatus.SKIPPED)
+                .message(message)
+                .build();
+    }
+
+    // First day of the window; the window ends today, inclusive
+    private LocalDate lookbackStart() {
+        return LocalDate.now().minusDays(FORECAST_LOOKBACK_DAYS - 1);
+    }
+
+    private BatchForecastItemDto buildForecastItem(
+            Product product,
+            Stock stock,
+            double[] salesHistory
+    ) {
+
+        String sku = product.getSku();
+
+        if (salesHistory.length == 0) {
+            throw new IllegalStateException("Insufficient sales data for SKU: " + sku);
+        }
+
+        BatchForecastItemDto item = new BatchForecastItemDto();
+        item.setSku(sku);
+        item.setSalesHistory(salesHistory);
+        item.setCurrentStock(stock.getOnHand());
+        item.setUnitCost(product.getUnitCost());
+        return item;
+    }
+
+    private void cacheForecasts(
+            List<BatchForecastItemDto> items,
+            Map<String, BatchForecastResultDto> results,
+            LocalDate start
+    ) {
+        for (BatchForecastItemDto item : items) {
+            BatchForecastResultDto result = results.get(item.getSku());
+            if (result != null && result.getError() == null) {
+                forecastCacheService.put(
+                        item.getSku(),
+                        ForecastCacheService.fingerprint(start, item.getSalesHistory()),
+                        result.getForecast(),
+                        result.getConfidence()
                 );
+            }
+        }
+    }
+
+    private ForecastAndDecisionResponseDto applyDecision(BatchForecastResultDto result) {
+        return applyDecision(
+                result.getSku(),
+                result.getForecast(),
+                result.getConfidence(),
+                result.getDecision()
+        );
+    }
 
-        InventoryDecisionDto decision =
-                inventoryMlService.getDecision(decisionPayload);
+    private ForecastAndDecisionResponseDto applyDecision(
+            String sku,
+            int forecast,
+            double confidence,
+            InventoryDecisionDto decision
+    ) {
 
-        // 3. Create PO if needed (delegate to service)
+        // Create PO if needed (delegate to service)
         if (decision.getQuantity() > 0) {
 
             PurchaseOrderItem item = new PurchaseOrderItem();
@@ -84,41 +373,29 @@ public class InventoryAgentService {
 
             purchaseOrderService.createFromDecision(
                     List.of(item),
-                    forecastResponse.getConfidence()
+                    confidence
             );
         }
 
-        // 4. Return combined response
         return inventoryAgentMapper.toForecastAndDecisionResponse(
-                forecastResponse.getForecast(),
-                forecastResponse.getConfidence(),
+                sku,
+                forecast,
+                confidence,
                 decision
         );
     }
 
-    public List<ForecastAndDecisionResponseDto> bulkForecastAndDecide() {
-
-        List<Product> products = productRepository.findAll();
-        List<ForecastAndDecisionResponseDto> responses = new ArrayList<>();
+    private record BulkInputs(
+            List<Product> products,
+            Map<String, Stock> stockBySku,
+            Map<String, double[]> historyBySku,
+            LocalDate start
+    ) {}
 
-                for (Product product : products) {
-                        try {
-                                responses.add(forecastAndDecide(product.getSku()));
-                        } catch (IllegalStateException e) {
-                                // Skip products with insufficient data
-                                if (e.getMessage().contains("Insufficient sales data")) {
-                                        System.out.println("Skipping SKU " + product.getSku() + ": " + e.getMessage());
-                                        continue;
-                                }
-                                // Re-throw other IllegalStateExceptions
-                                throw e;
-                        } catch (Exception e) {
-                                // Log and skip other unexpected errors
-                                System.err.println("Error processing SKU " + product.getSku() + ": " + e.getMessage());
-                                continue;
-                        }
-                }
-
-        return responses;
-    }
+    private record PreparedForecast(
+            Product product,
+            Stock stock,
+            BatchForecastItemDto item,
+            long fingerprint
+    ) {}
 }
@@ -1,44 +1,69 @@
 package projects.vendex.services;
 
 import projects.vendex.dtos.*;
+import projects.vendex.enums.IntegrationEndpoint;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryMlService {
 
     private final WebClient inventoryMlWebClient;
+    private final IntegrationResilienceService resilience;
 
-    public ForecastResponseDto getForecast(SalesHistoryDto request) {
-        System.out.println("Received DTO: " + request);
-        return inventoryMlWebClient.post()
+    public Mono<ForecastResponseDto> forecast(SalesHistoryDto request) {
+        return resilience.protect(IntegrationEndpoint.FORECAST, inventoryMlWebClient.post()
                 .uri("/api/forecast")
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(ForecastResponseDto.class)
-                .block();
+                .bodyToMono(ForecastResponseDto.class));
     }
 
-    public InventoryDecisionDto getDecision(DecisionPayloadDto payload) {
-        return inventoryMlWebClient.post()
+    public Mono<InventoryDecisionDto> decision(DecisionPayloadDto payload) {
+        return resilience.protect(IntegrationEndpoint.DECISION, inventoryMlWebClient.post()
                 .uri("/api/decision")
                 .bodyValue(payload)
                 .retrieve()
-                .bodyToMono(InventoryDecisionDto.class)
-                .block();
+                .bodyToMono(InventoryDecisionDto.class));
     }
 
+    /**
+     * Forecast + decision for many SKUs in one round trip to /api/forecast-and-decide/batch.
+     * Results are keyed by SKU; a SKU the ML side rejected carries an error instead of a decision.
+     */
+    public Mono<Map<String, BatchForecastResultDto>> forecastAndDecideBatch(List<BatchForecastItemDto> items) {
+        if (items.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return resilience.protect(IntegrationEndpoint.FORECAST_BATCH, inventoryMlWebClient.post()
+                        .uri("/api/forecast-and-decide/batch")
+                        .bodyValue(new BatchForecastRequestDto(items))
+                        .retrieve()
+                        .bodyToMono(BatchForecastResponseDto.class))
+                .map(response -> response.getResults()
+                        .stream()
+                        .collect(Collectors.toMap(
+                                BatchForecastResultDto::getSku,
+                                Function.identity(),
+                                (first, duplicate) -> first
+                        )));
+    }
 
-    public ForecastAndDecisionResponseDto forecastAndDecide(ForecastAndDecideRequestDto request) {
+    public Mono<ForecastAndDecisionResponseDto> forecastAndDecide(ForecastAndDecideRequestDto request) {
 
-        return inventoryMlWebClient.post()
+        return resilience.protect(IntegrationEndpoint.FORECAST_AND_DECIDE, inventoryMlWebClient.post()
                 .uri("/api/forecast-and-decide")
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(ForecastAndDecisionResponseDto.class)
-                .block();
+                .bodyToMono(ForecastAndDecisionResponseDto.class));
     }
 }
-
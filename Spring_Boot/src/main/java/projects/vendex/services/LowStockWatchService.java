@@ -0,0 +1,184 @@
+package projects.vendex.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projects.vendex.dtos.LowStockEventDto;
+import projects.vendex.dtos.StockThresholdDto;
+import projects.vendex.entities.StockThreshold;
+import projects.vendex.enums.LowStockStatus;
+import projects.vendex.events.StockChangedEvent;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.repositories.StockThresholdRepository;
+import projects.vendex.util.StockWatchConfig;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes low-stock threshold crossings to subscribers instead of having dashboards
+ * poll every SKU.
+ *
+ * Each committed stock change re-evaluates only its own SKU against the stock
+ * snapshot; an event goes out when the SKU drops to its threshold (LOW) or climbs
+ * back above it (RECOVERED), not on every change in between. The full scan happens
+ * once, at startup, to seed the current state.
+ */
+@Slf4j
+@Service
+public class LowStockWatchService {
+
+    private final StockSnapshotService stockSnapshotService;
+    private final StockThresholdRepository thresholdRepository;
+    private final StockWatchConfig config;
+
+    private final Map<String, Integer> thresholds = new ConcurrentHashMap<>();
+    private final Map<String, LowStockEventDto> lowStock = new ConcurrentHashMap<>();
+    private final Sinks.Many<LowStockEventDto> events = Sinks.many().multicast().directBestEffort();
+    private volatile boolean started;
+
+    public LowStockWatchService(
+            StockSnapshotService stockSnapshotService,
+            StockThresholdRepository thresholdRepository,
+            StockWatchConfig config
+    ) {
+        this.stockSnapshotService = stockSnapshotService;
+        this.thresholdRepository = thresholdRepository;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        thresholdRepository.findAll()
+                .forEach(threshold -> thresholds.put(threshold.getSku(), threshold.getThreshold()));
+        for (StockSnapshotService.Item item : stockSnapshotService.getItems()) {
+            int threshold = thresholdFor(item.sku());
+            if (item.onHand() <= threshold) {
+                lowStock.put(item.sku(), toEvent(item, threshold, LowStockStatus.LOW));
+            }
+        }
+        started = true;
+        log.info("Low-stock watch started: {} SKUs at or below threshold", lowStock.size());
+    }
+
+    // After the snapshot listener, so the snapshot already holds the committed level
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (started) {
+            evaluate(event.sku());
+        }
+    }
+
+    public List<LowStockEventDto> getLowStock() {
+        return lowStock.values().stream()
+                .sorted(Comparator.comparing(LowStockEventDto::getSku))
+                .toList();
+    }
+
+    public List<StockThresholdDto> getThresholds() {
+        return thresholds.entrySet().stream()
+                .map(entry -> new StockThresholdDto(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(StockThresholdDto::getSku))
+                .toList();
+    }
+
+    public StockThresholdDto setThreshold(String sku, int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must be zero or more");
+        }
+        if (stockSnapshotService.get(sku) == null) {
+            throw new NotFoundException("Stock not found for SKU: " + sku);
+        }
+        thresholdRepository.save(new StockThreshold(sku, threshold));
+        thresholds.put(sku, threshold);
+        evaluate(sku);
+        return new StockThresholdDto(sku, threshold);
+    }
+
+    public StockThresholdDto clearThreshold(String sku) {
+        thresholdRepository.deleteById(sku);
+        thresholds.remove(sku);
+        evaluate(sku);
+        return new StockThresholdDto(sku, config.getDefaultThreshold());
+    }
+
+    /**
+     * Crossings as server-sent events, starting with every SKU that is low right
+     * now. The live feed is subscribed before the current state is read, so a
+     * crossing racing with the subscribe is sent twice rather than lost. A slow
+     * client drops its oldest undelivered events instead of holding up stock writes.
+     */
+    public Flux<ServerSentEvent<LowStockEventDto>> stream() {
+        Flux<ServerSentEvent<LowStockEventDto>> live = events.asFlux()
+                .onBackpressureBuffer(config.getSubscriberBufferSize(), BufferOverflowStrategy.DROP_OLDEST)
+                .map(LowStockWatchService::toServerSentEvent);
+        Flux<ServerSentEvent<LowStockEventDto>> current = Flux.defer(() -> Flux.fromIterable(getLowStock()))
+                .map(LowStockWatchService::toServerSentEvent);
+        Flux<ServerSentEvent<LowStockEventDto>> heartbeats = Flux
+                .interval(Duration.ofSeconds(config.getHeartbeatSec()))
+                .map(tick -> ServerSentEvent.<LowStockEventDto>builder().comment("heartbeat").build());
+        return Flux.merge(live, current, heartbeats);
+    }
+
+    /**
+     * Serialized so crossings for one SKU go out in order and the sink is never
+     * emitted to from two threads at once.
+     */
+    private synchronized void evaluate(String sku) {
+        StockSnapshotService.Item item = stockSnapshotService.get(sku);
+        if (item == null) {
+            // Product deleted; nothing left to watch
+            lowStock.remove(sku);
+            return;
+        }
+
+        int threshold = thresholdFor(sku);
+        boolean low = item.onHand() <= threshold;
+        boolean wasLow = lowStock.containsKey(sku);
+
+        if (low) {
+            LowStockEventDto event = toEvent(item, threshold, LowStockStatus.LOW);
+            lowStock.put(sku, event);
+            if (!wasLow) {
+                events.tryEmitNext(event);
+            }
+        } else if (wasLow) {
+            lowStock.remove(sku);
+            events.tryEmitNext(toEvent(item, threshold, LowStockStatus.RECOVERED));
+        }
+    }
+
+    private int thresholdFor(String sku) {
+        return thresholds.getOrDefault(sku, config.getDefaultThreshold());
+    }
+
+    private static LowStockEventDto toEvent(StockSnapshotService.Item item, int threshold, LowStockStatus status) {
+        return LowStockEventDto.builder()
+                .sku(item.sku())
+                .productName(item.productName())
+                .onHand(item.onHand())
+                .threshold(threshold)
+                .status(status)
+                .at(LocalDateTime.now())
+                .build();
+    }
+
+    private static ServerSentEvent<LowStockEventDto> toServerSentEvent(LowStockEventDto event) {
+        return ServerSentEvent.builder(event)
+                .event(event.getStatus().name().toLowerCase())
+                .build();
+    }
+}
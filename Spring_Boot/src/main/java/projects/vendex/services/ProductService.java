@@ -2,10 +2,13 @@ package projects.vendex.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import projects.vendex.dtos.ProductRequestDto;
 import projects.vendex.entities.Product;
 import projects.vendex.entities.Stock;
+import projects.vendex.enums.StockMovementType;
+import projects.vendex.events.StockChangedEvent;
 import projects.vendex.exceptions.NotFoundException;
 import projects.vendex.repositories.ProductRepository;
 import projects.vendex.repositories.StockRepository;
@@ -19,6 +22,9 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final StockRepository stockRepository;
+    private final StockMovementService stockMovementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedgerService stockLedgerService;
 
     @Transactional
     public Product create(ProductRequestDto dto) {
@@ -36,8 +42,12 @@ public class ProductService {
                 .lastUpdated(LocalDate.now())
                 .build();
 
+        stockLedgerService.lockExclusive(List.of(stock.getSku()));
         stockRepository.save(stock);
-        return productRepository.save(product);
+        stockMovementService.record(stock.getSku(), StockMovementType.ADJUSTMENT, stock.getOnHand());
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new StockChangedEvent(saved.getSku()));
+        return saved;
     }
 
     public List<Product> getAll() {
@@ -53,10 +63,13 @@ public class ProductService {
         product.setUnitCost(dto.getUnitCost());
         product.setActive(dto.isActive());
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new StockChangedEvent(sku));
+        return saved;
     }
 
     public void delete(String sku) {
         productRepository.deleteById(sku);
+        eventPublisher.publishEvent(new StockChangedEvent(sku));
     }
 }
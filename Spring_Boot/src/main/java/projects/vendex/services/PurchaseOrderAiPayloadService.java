@@ -1,5 +1,6 @@
 package projects.vendex.services;
 
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import projects.vendex.dtos.ReceiptRequestDto;
@@ -23,6 +24,20 @@ public class PurchaseOrderAiPayloadService {
     private final ManufacturerRatingRepository manufacturerRatingRepository;
     private final ManufacturerPaymentProfileRepository paymentProfileRepository;
 
+    /**
+     * Loads the PO and builds its receipt payload in one transaction, so the lazy
+     * item list can be read from any thread.
+     */
+    @Transactional
+    public ReceiptRequestDto buildReceiptPayload(Long poId) {
+        return buildReceiptPayload(findPurchaseOrder(poId));
+    }
+
+    @Transactional
+    public SourcingRequestDto buildSourcingPayload(Long poId, PaymentMode preferredPaymentMode) {
+        return buildSourcingPayload(findPurchaseOrder(poId), preferredPaymentMode);
+    }
+
     public ReceiptRequestDto buildReceiptPayload(PurchaseOrder po) {
 
         ReceiptRequestDto dto = new ReceiptRequestDto();
@@ -156,4 +171,9 @@ public class PurchaseOrderAiPayloadService {
         dto.setManufacturers(candidates);
         return dto;
     }
+
+    private PurchaseOrder findPurchaseOrder(Long poId) {
+        return purchaseOrderRepository.findById(poId)
+                .orElseThrow(() -> new NotFoundException("PO not found"));
+    }
 }
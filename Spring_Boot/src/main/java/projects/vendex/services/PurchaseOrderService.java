@@ -1,13 +1,19 @@
 package projects.vendex.services;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import projects.vendex.dtos.PurchaseOrderDto;
+import projects.vendex.dtos.ReorderDecisionDto;
 import projects.vendex.entities.Manufacturer;
 import projects.vendex.entities.PurchaseOrder;
 import projects.vendex.entities.PurchaseOrderItem;
@@ -24,7 +30,14 @@ public class PurchaseOrderService {
     private final PurchaseOrderRepository poRepository;
     private final ManufacturerRepository manufacturerRepository;
     private final StockService stockService;
+    private final StockLedgerService stockLedgerService;
     private final PurchaseOrderMapper purchaseOrderMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_ITEM_SQL = """
+            INSERT INTO purchase_order_items (sku, quantity, unit_cost, purchase_order_id)
+            VALUES (?, ?, ?, ?)
+            """;
 
 
     public PurchaseOrder getById(Long id) {
@@ -62,6 +75,57 @@ public class PurchaseOrderService {
         return poRepository.save(po);
     }
 
+    /**
+     * Writes the reorder decisions of a bulk run as a few multi-item POs instead of one
+     * PO per SKU. Decisions are grouped by action (so auto-orders and approval-required
+     * lines stay apart) and split into POs of at most {@code maxItemsPerOrder} lines.
+     * Each PO takes the lowest confidence of its lines; items are inserted as one JDBC batch.
+     */
+    @Transactional
+    public List<Long> createConsolidated(List<ReorderDecisionDto> decisions, int maxItemsPerOrder) {
+
+        Map<String, List<ReorderDecisionDto>> byAction =
+                decisions.stream()
+                        .filter(decision -> decision.getQuantity() > 0)
+                        .collect(Collectors.groupingBy(
+                                decision -> String.valueOf(decision.getAction()),
+                                LinkedHashMap::new,
+                                Collectors.toList()
+                        ));
+
+        int chunkSize = Math.max(1, maxItemsPerOrder);
+        List<Long> poIds = new ArrayList<>();
+        List<Object[]> itemRows = new ArrayList<>();
+
+        for (List<ReorderDecisionDto> group : byAction.values()) {
+            for (int from = 0; from < group.size(); from += chunkSize) {
+                List<ReorderDecisionDto> lines = group.subList(from, Math.min(from + chunkSize, group.size()));
+
+                PurchaseOrder po = new PurchaseOrder();
+                po.setStatus(PurchaseOrderStatus.PENDING_APPROVAL);
+                po.setConfidence(lines.stream()
+                        .mapToDouble(ReorderDecisionDto::getConfidence)
+                        .min()
+                        .orElse(0.0));
+                po.setCreatedAt(LocalDateTime.now());
+                po.setItems(new ArrayList<>());
+
+                Long poId = poRepository.save(po).getId();
+                poIds.add(poId);
+
+                for (ReorderDecisionDto line : lines) {
+                    itemRows.add(new Object[]{line.getSku(), line.getQuantity(), line.getUnitCost(), poId});
+                }
+            }
+        }
+
+        if (!itemRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, itemRows);
+        }
+
+        return poIds;
+    }
+
     @Transactional
     public PurchaseOrder approve(Long poId) {
         PurchaseOrder po = getById(poId);
@@ -116,6 +180,11 @@ public class PurchaseOrderService {
             throw new IllegalStateException("Purchase order has not been sent yet");
         }
 
+        // Every SKU is locked up front: the ledger only takes its stripes in order
+        stockLedgerService.lockExclusive(po.getItems().stream()
+                .map(PurchaseOrderItem::getSku)
+                .toList());
+
         // Update stock per item
         for (PurchaseOrderItem item : po.getItems()) {
             stockService.addStock(
@@ -11,6 +11,8 @@ import projects.vendex.repositories.ShiftRepository;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -24,44 +26,44 @@ public class RosterService {
     private final StaffAvailabilityRepository availabilityRepository;
     private final ShiftRepository shiftRepository;
     private final RosterDecisionProvider decisionProvider;
+    private final Scheduler blockingScheduler;
 
-    public RosterResponseDto generateRoster(LocalDate date) {
+    public Mono<RosterResponseDto> generateRoster(LocalDate date) {
 
         // 1. Fetch open shifts for the date
-        List<Shift> openShifts =
-                shiftRepository.findByStatusAndShiftDate("OPEN", date);
-
-        if (openShifts.isEmpty()) {
-            return RosterResponseDto.builder()
-                    .date(date)
-                    .assignments(List.of())
-                    .coveragePercentage(100.0)
-                    .overtimeRisk(false)
-                    .build();
-        }
-
-        // 2. Fetch active staff
-        List<Staff> activeStaff =
-                staffRepository.findByActiveTrue();
-
-        // 3. Build ML-ready input
-        RosterInputDto input =
-                buildRosterInput(date, openShifts, activeStaff);
-
-        // 4. Get decision (rule-based now, ML later)
-        RosterDecisionDto decision =
-                decisionProvider.generate(input);
-
-        // 5. Apply decisions with backend enforcement
-        List<ShiftAssignmentDto> appliedAssignments =
-                applyAssignments(decision);
-
-        return RosterResponseDto.builder()
-                .date(date)
-                .assignments(appliedAssignments)
-                .coveragePercentage(decision.getCoveragePercentage())
-                .overtimeRisk(decision.isOvertimeRisk())
-                .build();
+        return Mono.fromCallable(() ->
+                        shiftRepository.findByStatusAndShiftDate("OPEN", date))
+                .subscribeOn(blockingScheduler)
+                .flatMap(openShifts -> {
+
+                    if (openShifts.isEmpty()) {
+                        return Mono.just(RosterResponseDto.builder()
+                                .date(date)
+                                .assignments(List.of())
+                                .coveragePercentage(100.0)
+                                .overtimeRisk(false)
+                                .build());
+                    }
+
+                    // 2. Fetch active staff
+                    List<Staff> activeStaff =
+                            staffRepository.findByActiveTrue();
+
+                    // 3. Build ML-ready input
+                    RosterInputDto input =
+                            buildRosterInput(date, openShifts, activeStaff);
+
+                    // 4. Get decision (rule-based now, ML later)
+                    return decisionProvider.generate(input)
+                            .publishOn(blockingScheduler)
+                            // 5. Apply decisions with backend enforcement
+                            .map(decision -> RosterResponseDto.builder()
+                                    .date(date)
+                                    .assignments(applyAssignments(decision))
+                                    .coveragePercentage(decision.getCoveragePercentage())
+                                    .overtimeRisk(decision.isOvertimeRisk())
+                                    .build());
+                });
     }
 
 
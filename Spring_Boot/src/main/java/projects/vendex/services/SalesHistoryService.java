@@ -0,0 +1,73 @@
+package projects.vendex.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import projects.vendex.repositories.DailySalesRollupRepository;
+import projects.vendex.util.DailySalesSeries;
+import projects.vendex.util.DailySalesView;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class SalesHistoryService {
+
+    public static final double[] NO_SALES = new double[0];
+
+    private final DailySalesRollupRepository rollupRepository;
+
+    /**
+     * Dense daily sales for one SKU over {@code days} days starting at {@code start},
+     * with zero for days without sales. Returns {@link #NO_SALES} if nothing sold in the window.
+     */
+    public double[] getDailySeries(String sku, LocalDate start, int days) {
+
+        DailySalesSeries series = new DailySalesSeries(days).reset(start);
+
+        rollupRepository.findDailyTotals(sku, start)
+                .forEach(row -> series.add(row.getSaleDate(), row.getQuantity()));
+
+        return series.hasSales() ? series.toArray() : NO_SALES;
+    }
+
+    /**
+     * Dense daily sales for every SKU that sold in the window, built from a single
+     * streamed query over the daily rollup. One series buffer is reused for all SKUs.
+     */
+    @Transactional
+    public Map<String, double[]> getDailySeries(LocalDate start, int days) {
+
+        Map<String, double[]> seriesBySku = new HashMap<>();
+        DailySalesSeries series = new DailySalesSeries(days);
+        String currentSku = null;
+
+        try (Stream<DailySalesView> rows = rollupRepository.streamDailyTotals(start)) {
+            Iterator<DailySalesView> iterator = rows.iterator();
+
+            while (iterator.hasNext()) {
+                DailySalesView row = iterator.next();
+
+                if (!row.getSku().equals(currentSku)) {
+                    if (currentSku != null && series.hasSales()) {
+                        seriesBySku.put(currentSku, series.toArray());
+                    }
+                    currentSku = row.getSku();
+                    series.reset(start);
+                }
+
+                series.add(row.getSaleDate(), row.getQuantity());
+            }
+        }
+
+        if (currentSku != null && series.hasSales()) {
+            seriesBySku.put(currentSku, series.toArray());
+        }
+
+        return seriesBySku;
+    }
+}
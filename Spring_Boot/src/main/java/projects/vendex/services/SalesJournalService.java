@@ -0,0 +1,518 @@
+package projects.vendex.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.SaleLineResultDto;
+import projects.vendex.dtos.SalesBatchResultDto;
+import projects.vendex.dtos.SalesJournalStatsDto;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.enums.SaleLineStatus;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.util.SalesIngestConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind ingestion for sales (sales.ingest.mode=journal). Accepted lines are
+ * appended to memory-mapped segment files and acknowledged; a background flusher
+ * writes them to the database through the batch path and advances a checkpoint in
+ * the same transaction. On start, every journaled line past the checkpoint is
+ * replayed, so a crash loses nothing that was acknowledged.
+ *
+ * A line is only acknowledged if available stock (on hand minus holds) still
+ * covers it after the lines already queued for its SKU. Stock can still move before
+ * the flush, so a line rejected there is kept as a dead letter for follow-up.
+ *
+ * Record layout: [int payloadLength][long seq][payload][int crc32(seq + payload)],
+ * payload = [short skuLength][sku utf-8][int quantity][long saleDate epochDay].
+ * A zero length marks the end of a segment's data.
+ */
+@Slf4j
+@Service
+public class SalesJournalService {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "sales-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final SalesService salesService;
+    private final StockReservationService stockReservationService;
+    private final SalesIngestConfig config;
+
+    private final ConcurrentLinkedQueue<JournalEntry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Deque<Segment> sealedSegments = new ArrayDeque<>();
+    // Units per SKU journaled but not flushed yet; guarded by this
+    private final Map<String, Integer> queuedBySku = new HashMap<>();
+
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong rejectedLines = new AtomicLong();
+
+    private Path directory;
+    private Segment current;
+    private long nextSeq = 1;
+    private volatile long appendedSeq;
+    private volatile long flushedSeq;
+    private volatile LocalDateTime lastFlushAt;
+    private volatile int lastFlushLines;
+
+    private ScheduledExecutorService flusher;
+
+    public SalesJournalService(
+            SalesService salesService,
+            StockReservationService stockReservationService,
+            SalesIngestConfig config
+    ) {
+        this.salesService = salesService;
+        this.stockReservationService = stockReservationService;
+        this.config = config;
+    }
+
+    public boolean isEnabled() {
+        return "journal".equalsIgnoreCase(config.getMode());
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        directory = Path.of(config.getJournalDir());
+        Files.createDirectories(directory);
+
+        flushedSeq = salesService.getJournalCheckpoint(config.getJournalId());
+        replay();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sales-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely,
+                config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+
+        log.info("Sales journal at {}: checkpoint {}, {} lines to replay",
+                directory.toAbsolutePath(), flushedSeq, pendingCount.get());
+    }
+
+    /**
+     * Validates, journals and acknowledges the lines. Lines with stock for them come
+     * back QUEUED and reach the database on the next flush.
+     */
+    public SalesBatchResultDto append(List<SalesRecord> sales) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Sales journal is not enabled");
+        }
+        if (sales.size() > config.getMaxBatchLines()) {
+            throw new IllegalArgumentException("Batch exceeds " + config.getMaxBatchLines() + " lines");
+        }
+        if (pendingCount.get() + sales.size() > config.getMaxPendingLines()) {
+            throw new IllegalStateException("Sales journal is full, retry shortly");
+        }
+
+        List<SaleLineResultDto> lines = new ArrayList<>(sales.size());
+        List<SalesRecord> valid = new ArrayList<>(sales.size());
+
+        // Checked and journaled under one lock, so two appends cannot both claim the last units
+        synchronized (this) {
+            Map<String, Integer> claimed = new HashMap<>();
+            for (int i = 0; i < sales.size(); i++) {
+                SalesRecord sale = sales.get(i);
+                String error = SalesService.validate(sale);
+                if (error == null) {
+                    error = checkStock(sale, claimed);
+                }
+                if (error == null) {
+                    valid.add(sale);
+                }
+                lines.add(SaleLineResultDto.builder()
+                        .line(i)
+                        .sku(sale == null ? null : sale.getSku())
+                        .status(error == null ? SaleLineStatus.QUEUED : SaleLineStatus.REJECTED)
+                        .message(error)
+                        .build());
+            }
+
+            if (!valid.isEmpty()) {
+                write(valid);
+            }
+        }
+
+        return SalesBatchResultDto.builder()
+                .accepted(valid.size())
+                .rejected(sales.size() - valid.size())
+                .lines(lines)
+                .build();
+    }
+
+    public SalesJournalStatsDto getStats() {
+        JournalEntry oldest = pending.peek();
+        int segments;
+        synchronized (this) {
+            segments = sealedSegments.size() + (current == null ? 0 : 1);
+        }
+        return SalesJournalStatsDto.builder()
+                .enabled(isEnabled())
+                .appendedSeq(appendedSeq)
+                .flushedSeq(flushedSeq)
+                .pendingLines(pendingCount.get())
+                .oldestPendingAgeMs(oldest == null ? 0 : System.currentTimeMillis() - oldest.queuedAt())
+                .segments(segments)
+                .lastFlushAt(lastFlushAt)
+                .lastFlushLines(lastFlushLines)
+                .flushFailures(flushFailures.get())
+                .rejectedLines(rejectedLines.get())
+                .deadLetters(salesService.countDeadLetters())
+                .build();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        boolean terminated = false;
+        try {
+            terminated = flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Best effort, and never next to a flush still running; anything left is replayed on the next start
+        if (terminated) {
+            flushSafely();
+        } else {
+            log.warn("Sales journal flusher still busy at shutdown; {} lines will be replayed on the next start",
+                    pendingCount.get());
+        }
+        synchronized (this) {
+            if (current != null) {
+                current.buffer.force();
+                closeQuietly(current);
+            }
+        }
+    }
+
+    // ---- append ----
+
+    private String checkStock(SalesRecord sale, Map<String, Integer> claimed) {
+        int available;
+        try {
+            available = stockReservationService.getAvailability(sale.getSku()).getAvailable();
+        } catch (NotFoundException ex) {
+            return "Stock unavailable";
+        }
+        int queued = queuedBySku.getOrDefault(sale.getSku(), 0) + claimed.getOrDefault(sale.getSku(), 0);
+        if (available - queued < sale.getQuantitySold()) {
+            return "Low Stock. Unable to process request";
+        }
+        claimed.merge(sale.getSku(), sale.getQuantitySold(), Integer::sum);
+        return null;
+    }
+
+    private synchronized void write(List<SalesRecord> sales) {
+        long now = System.currentTimeMillis();
+        int forceFrom = current.buffer.position();
+        List<JournalEntry> written = new ArrayList<>(sales.size());
+
+        for (SalesRecord sale : sales) {
+            byte[] sku = sale.getSku().getBytes(StandardCharsets.UTF_8);
+            int payloadLength = Short.BYTES + sku.length + Integer.BYTES + Long.BYTES;
+            int recordLength = HEADER_BYTES + payloadLength + TRAILER_BYTES;
+
+            // Leave room for the zero end marker
+            if (current.buffer.remaining() < recordLength + Integer.BYTES) {
+                forceRange(forceFrom);
+                rollSegment();
+                forceFrom = 0;
+            }
+
+            long seq = nextSeq++;
+            MappedByteBuffer buffer = current.buffer;
+            int start = buffer.position();
+            buffer.putInt(payloadLength);
+            buffer.putLong(seq);
+            buffer.putShort((short) sku.length);
+            buffer.put(sku);
+            buffer.putInt(sale.getQuantitySold());
+            buffer.putLong(sale.getSaleDate().toEpochDay());
+            buffer.putInt(crc(buffer, start + Integer.BYTES, Long.BYTES + payloadLength));
+
+            current.lastSeq = seq;
+            written.add(new JournalEntry(seq, copyOf(sale), now));
+            queuedBySku.merge(sale.getSku(), sale.getQuantitySold(), Integer::sum);
+        }
+
+        forceRange(forceFrom);
+        appendedSeq = nextSeq - 1;
+
+        // Visible to the flusher only once durable
+        pending.addAll(written);
+        pendingCount.addAndGet(written.size());
+    }
+
+    private void forceRange(int from) {
+        if (config.isJournalFsync() && current.buffer.position() > from) {
+            current.buffer.force(from, current.buffer.position() - from);
+        }
+    }
+
+    private void rollSegment() {
+        current.buffer.force();
+        sealedSegments.addLast(current);
+        current = openSegment(nextSeq);
+    }
+
+    // ---- flush ----
+
+    void flushSafely() {
+        try {
+            while (flushOnce()) {
+                // keep draining while full batches are waiting
+            }
+        } catch (RuntimeException ex) {
+            flushFailures.incrementAndGet();
+            log.warn("Sales journal flush failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes up to one batch of pending lines. Returns true if a full batch went out.
+     */
+    private boolean flushOnce() {
+        int limit = Math.max(1, config.getMaxBatchLines());
+        List<JournalEntry> batch = new ArrayList<>();
+        for (JournalEntry entry : pending) {
+            if (batch.size() == limit) {
+                break;
+            }
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        long lastSeq = batch.getLast().seq();
+        SalesBatchResultDto result = salesService.recordJournalBatch(
+                config.getJournalId(),
+                batch.stream().map(JournalEntry::seq).toList(),
+                batch.stream().map(JournalEntry::sale).toList()
+        );
+
+        // Committed: drop the lines from memory only now
+        for (int i = 0; i < batch.size(); i++) {
+            pending.poll();
+        }
+        pendingCount.addAndGet(-batch.size());
+        flushedSeq = lastSeq;
+        lastFlushAt = LocalDateTime.now();
+        lastFlushLines = batch.size();
+        unqueue(batch);
+
+        for (SaleLineResultDto line : result.getLines()) {
+            if (line.getStatus() == SaleLineStatus.REJECTED) {
+                JournalEntry entry = batch.get(line.getLine());
+                rejectedLines.incrementAndGet();
+                log.warn("Journaled sale {} for SKU {} x{} rejected at flush, kept as a dead letter: {}",
+                        entry.seq(), entry.sale().getSku(), entry.sale().getQuantitySold(), line.getMessage());
+            }
+        }
+
+        deleteFlushedSegments();
+        return batch.size() == limit;
+    }
+
+    private synchronized void unqueue(List<JournalEntry> batch) {
+        for (JournalEntry entry : batch) {
+            queuedBySku.computeIfPresent(entry.sale().getSku(),
+                    (sku, queued) -> queued == entry.sale().getQuantitySold() ? null : queued - entry.sale().getQuantitySold());
+        }
+    }
+
+    private synchronized void deleteFlushedSegments() {
+        while (!sealedSegments.isEmpty() && sealedSegments.peekFirst().lastSeq <= flushedSeq) {
+            Segment segment = sealedSegments.pollFirst();
+            closeQuietly(segment);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException ex) {
+                log.warn("Could not delete flushed journal segment {}: {}", segment.path, ex.getMessage());
+            }
+        }
+    }
+
+    // ---- replay ----
+
+    private synchronized void replay() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long now = System.currentTimeMillis();
+        long lastSeq = flushedSeq;
+
+        for (Path path : paths) {
+            Segment segment = mapSegment(path);
+            MappedByteBuffer buffer = segment.buffer;
+
+            while (true) {
+                int start = buffer.position();
+                JournalEntry entry = readRecord(buffer, now);
+                if (entry == null) {
+                    // End marker or a torn tail; wipe the tail so it cannot be misread later
+                    buffer.position(start);
+                    zeroFrom(buffer, start);
+                    break;
+                }
+                segment.lastSeq = entry.seq();
+                lastSeq = Math.max(lastSeq, entry.seq());
+                if (entry.seq() > flushedSeq) {
+                    pending.add(entry);
+                    pendingCount.incrementAndGet();
+                    queuedBySku.merge(entry.sale().getSku(), entry.sale().getQuantitySold(), Integer::sum);
+                }
+            }
+
+            if (current != null) {
+                sealedSegments.addLast(current);
+            }
+            current = segment;
+        }
+
+        nextSeq = lastSeq + 1;
+        appendedSeq = lastSeq;
+        if (current == null) {
+            current = openSegment(nextSeq);
+        }
+        deleteFlushedSegments();
+    }
+
+    private static JournalEntry readRecord(MappedByteBuffer buffer, long queuedAt) {
+        try {
+            int start = buffer.position();
+            int payloadLength = buffer.getInt();
+            if (payloadLength <= 0 || payloadLength > buffer.remaining()) {
+                return null;
+            }
+            long seq = buffer.getLong();
+            short skuLength = buffer.getShort();
+            if (skuLength < 0 || Short.BYTES + skuLength + Integer.BYTES + Long.BYTES != payloadLength) {
+                return null;
+            }
+            byte[] sku = new byte[skuLength];
+            buffer.get(sku);
+            int quantity = buffer.getInt();
+            long epochDay = buffer.getLong();
+            int expected = crc(buffer, start + Integer.BYTES, Long.BYTES + payloadLength);
+            if (buffer.getInt() != expected) {
+                return null;
+            }
+
+            SalesRecord sale = new SalesRecord();
+            sale.setSku(new String(sku, StandardCharsets.UTF_8));
+            sale.setQuantitySold(quantity);
+            sale.setSaleDate(LocalDate.ofEpochDay(epochDay));
+            return new JournalEntry(seq, sale, queuedAt);
+        } catch (BufferUnderflowException | BufferOverflowException ex) {
+            return null;
+        }
+    }
+
+    // ---- segment files ----
+
+    private Segment openSegment(long firstSeq) {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        return mapSegment(path);
+    }
+
+    private Segment mapSegment(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), (long) config.getSegmentSizeMb() * 1024 * 1024);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, channel, buffer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot map sales journal segment " + path, ex);
+        }
+    }
+
+    private static void zeroFrom(MappedByteBuffer buffer, int from) {
+        // Nothing past the first bad record was ever acknowledged (it would have been forced with it)
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+
+    private static int crc(MappedByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException ex) {
+            log.warn("Could not close journal segment {}: {}", segment.path, ex.getMessage());
+        }
+    }
+
+    private static SalesRecord copyOf(SalesRecord sale) {
+        SalesRecord copy = new SalesRecord();
+        copy.setSku(sale.getSku());
+        copy.setQuantitySold(sale.getQuantitySold());
+        copy.setSaleDate(sale.getSaleDate());
+        return copy;
+    }
+
+    private record JournalEntry(long seq, SalesRecord sale, long queuedAt) {}
+
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private long lastSeq;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
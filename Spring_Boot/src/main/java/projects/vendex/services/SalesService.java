@@ -0,0 +1,397 @@
+package projects.vendex.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.SaleLineResultDto;
+import projects.vendex.dtos.SalesBatchResultDto;
+import projects.vendex.entities.SalesDeadLetter;
+import projects.vendex.entities.SalesJournalCheckpoint;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.enums.SaleLineStatus;
+import projects.vendex.enums.StockMovementType;
+import projects.vendex.events.StockChangedEvent;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.repositories.DailySalesRollupRepository;
+import projects.vendex.repositories.SalesDeadLetterRepository;
+import projects.vendex.repositories.SalesJournalCheckpointRepository;
+import projects.vendex.repositories.SalesRepository;
+import projects.vendex.repositories.StockRepository;
+import projects.vendex.util.SalesIngestConfig;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesService {
+
+    private final SalesRepository salesRepository;
+    private final StockRepository stockRepository;
+    private final DailySalesRollupRepository rollupRepository;
+    private final ForecastCacheService forecastCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final SalesIngestConfig ingestConfig;
+    private final SalesJournalCheckpointRepository checkpointRepository;
+    private final SalesDeadLetterRepository deadLetterRepository;
+    private final StockMovementService stockMovementService;
+    private final StockLedgerService stockLedgerService;
+    private final StockLedgerStore stockLedgerStore;
+    private final StockReservationService stockReservationService;
+
+    // Locks in SKU order so two batches touching the same SKUs cannot deadlock
+    private static final String LOCK_STOCK_SQL = """
+            SELECT sku, on_hand FROM stock
+            WHERE sku IN (:skus)
+            ORDER BY sku
+            FOR UPDATE
+            """;
+
+    private static final String DECREMENT_STOCK_SQL = """
+            UPDATE stock SET on_hand = on_hand - ?, last_updated = ?
+            WHERE sku = ?
+            """;
+
+    private static final String INSERT_SALE_SQL = """
+            INSERT INTO sales (sku, quantity_sold, sale_date)
+            VALUES (?, ?, ?)
+            """;
+
+    private static final String UPSERT_ROLLUP_SQL = """
+            INSERT INTO daily_sales_rollup (sku, sale_date, quantity)
+            VALUES (?, ?, ?)
+            ON CONFLICT (sku, sale_date)
+            DO UPDATE SET quantity = daily_sales_rollup.quantity + EXCLUDED.quantity
+            """;
+
+    /**
+     * Records a sale: decrements stock, inserts the sale and bumps the daily rollup
+     * in one transaction, so the rollup never drifts from the sales table.
+     * The decrement is a single conditional UPDATE, so concurrent tills selling the
+     * same SKU never lose an update and only hold the row lock until commit.
+     * Hot SKUs take from the stock ledger instead; their stock row and rollup are
+     * brought up to date by its reconciler.
+     * Either way the sale may not take units held for open baskets.
+     */
+    @Transactional
+    public SalesRecord recordSale(SalesRecord sale) {
+        return record(sale, 0);
+    }
+
+    /**
+     * Records the sale of a reservation being committed: the units held by that
+     * reservation are the ones being sold, so they do not count against it.
+     */
+    @Transactional
+    public SalesRecord recordReservedSale(SalesRecord sale) {
+        return record(sale, sale.getQuantitySold());
+    }
+
+    private SalesRecord record(SalesRecord sale, int allowance) {
+        if (sale.getQuantitySold() <= 0) throw new IllegalArgumentException("Quantity must be positive");
+
+        int floor = Math.max(0, stockReservationService.getReserved(sale.getSku()) - allowance);
+
+        if (!stockLedgerService.lockShared(List.of(sale.getSku())).isEmpty()) {
+            if (!stockLedgerService.take(sale.getSku(), sale.getQuantitySold(), floor, sale.getSaleDate())) {
+                throw new IllegalArgumentException("Low Stock. Unable to process request");
+            }
+            SalesRecord saved = salesRepository.save(sale);
+            stockLedgerService.flushDeltas();
+            stockMovementService.record(saved.getSku(), StockMovementType.SALE, -saved.getQuantitySold());
+            return saved;
+        }
+
+        int updated = stockRepository.decrementIfAvailable(sale.getSku(), sale.getQuantitySold(), floor, LocalDate.now());
+        if (updated == 0) {
+            if (!stockRepository.existsById(sale.getSku())) throw new NotFoundException("Stock unavailable");
+            throw new IllegalArgumentException("Low Stock. Unable to process request");
+        }
+
+        SalesRecord saved = salesRepository.save(sale);
+        stockMovementService.record(saved.getSku(), StockMovementType.SALE, -saved.getQuantitySold());
+
+        rollupRepository.addToRollup(saved.getSku(), saved.getSaleDate(), saved.getQuantitySold());
+        forecastCacheService.invalidate(saved.getSku());
+        eventPublisher.publishEvent(new StockChangedEvent(saved.getSku()));
+        return saved;
+    }
+
+    /**
+     * Records many sales in one transaction. Lines are grouped by SKU: each SKU's
+     * stock row is locked and decremented once for all its accepted lines, and the
+     * sale inserts and rollup upserts go out as JDBC batches. Lines are accepted in
+     * order while unreserved stock lasts; a rejected line does not affect the others.
+     */
+    @Transactional
+    public SalesBatchResultDto recordSales(List<SalesRecord> sales) {
+        if (sales.size() > ingestConfig.getMaxBatchLines()) {
+            throw new IllegalArgumentException("Batch exceeds " + ingestConfig.getMaxBatchLines() + " lines");
+        }
+
+        SaleLineResultDto[] results = new SaleLineResultDto[sales.size()];
+        Map<String, List<Integer>> linesBySku = new LinkedHashMap<>();
+
+        for (int i = 0; i < sales.size(); i++) {
+            SalesRecord sale = sales.get(i);
+            String error = validate(sale);
+            if (error != null) {
+                results[i] = lineResult(i, sale, SaleLineStatus.REJECTED, error);
+            } else {
+                linesBySku.computeIfAbsent(sale.getSku(), sku -> new ArrayList<>()).add(i);
+            }
+        }
+
+        if (!linesBySku.isEmpty()) {
+            applyBatch(sales, linesBySku, results);
+        }
+
+        int accepted = (int) Arrays.stream(results)
+                .filter(result -> result.getStatus() == SaleLineStatus.ACCEPTED)
+                .count();
+
+        return SalesBatchResultDto.builder()
+                .accepted(accepted)
+                .rejected(results.length - accepted)
+                .lines(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Writes a drained slice of the local sales journal and advances the journal's
+     * checkpoint in the same transaction. {@code seqs} are the lines' journal
+     * sequence numbers, in order. The checkpoint row is locked first and lines at or
+     * below it are skipped, so a slice flushed twice is only written once; the
+     * checkpoint never moves backwards. Result lines keep their position in
+     * {@code sales}. Lines rejected here were already acknowledged, so they are kept
+     * as dead letters rather than dropped.
+     */
+    @Transactional
+    public SalesBatchResultDto recordJournalBatch(String journalId, List<Long> seqs, List<SalesRecord> sales) {
+        checkpointRepository.insertIfAbsent(journalId);
+        SalesJournalCheckpoint checkpoint = checkpointRepository.findForUpdate(journalId)
+                .orElseThrow(() -> new IllegalStateException("Sales journal checkpoint missing: " + journalId));
+
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < seqs.size(); i++) {
+            if (seqs.get(i) > checkpoint.getFlushedSeq()) {
+                positions.add(i);
+            }
+        }
+        if (positions.isEmpty()) {
+            return SalesBatchResultDto.builder().lines(List.of()).build();
+        }
+
+        SalesBatchResultDto result = recordSales(positions.stream().map(sales::get).toList());
+        result.getLines().forEach(line -> line.setLine(positions.get(line.getLine())));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SalesDeadLetter> deadLetters = result.getLines().stream()
+                .filter(line -> line.getStatus() == SaleLineStatus.REJECTED)
+                .map(line -> {
+                    SalesRecord sale = sales.get(line.getLine());
+                    return SalesDeadLetter.builder()
+                            .journalId(journalId)
+                            .seq(seqs.get(line.getLine()))
+                            .sku(sale.getSku())
+                            .quantitySold(sale.getQuantitySold())
+                            .saleDate(sale.getSaleDate())
+                            .reason(line.getMessage())
+                            .createdAt(now)
+                            .build();
+                })
+                .toList();
+        deadLetterRepository.saveAll(deadLetters);
+
+        checkpoint.setFlushedSeq(Math.max(checkpoint.getFlushedSeq(), seqs.get(positions.getLast())));
+        checkpointRepository.save(checkpoint);
+        return result;
+    }
+
+    public List<SalesDeadLetter> getDeadLetters() {
+        return deadLetterRepository.findAllByOrderByIdAsc();
+    }
+
+    public long countDeadLetters() {
+        return deadLetterRepository.count();
+    }
+
+    /**
+     * Removes a dead letter once it has been dealt with (re-entered, written off).
+     */
+    public void resolveDeadLetter(Long id) {
+        if (!deadLetterRepository.existsById(id)) {
+            throw new NotFoundException("Dead letter not found");
+        }
+        deadLetterRepository.deleteById(id);
+    }
+
+    public long getJournalCheckpoint(String journalId) {
+        return checkpointRepository.findById(journalId)
+                .map(SalesJournalCheckpoint::getFlushedSeq)
+                .orElse(0L);
+    }
+
+    private void applyBatch(
+            List<SalesRecord> sales,
+            Map<String, List<Integer>> linesBySku,
+            SaleLineResultDto[] results
+    ) {
+        // Hot SKUs are never locked in the database: the ledger counter is their gate
+        Set<String> hot = stockLedgerService.lockShared(linesBySku.keySet());
+        Set<String> direct = new HashSet<>(linesBySku.keySet());
+        direct.removeAll(hot);
+
+        Map<String, Integer> onHand = new HashMap<>();
+        if (!direct.isEmpty()) {
+            namedParameterJdbcTemplate.query(
+                    LOCK_STOCK_SQL,
+                    Map.of("skus", direct),
+                    (RowCallbackHandler) rs -> onHand.put(rs.getString("sku"), rs.getInt("on_hand"))
+            );
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> decrements = new ArrayList<>();
+        List<Object[]> saleRows = new ArrayList<>();
+        Map<DailySalesKey, Long> rollup = new LinkedHashMap<>();
+
+        linesBySku.forEach((sku, lines) -> {
+            int floor = stockReservationService.getReserved(sku);
+            if (hot.contains(sku)) {
+                takeFromLedger(sku, floor, lines, sales, saleRows, results);
+                return;
+            }
+
+            Integer onHandNow = onHand.get(sku);
+            Integer available = onHandNow == null ? null : onHandNow - floor;
+            int taken = 0;
+
+            for (int line : lines) {
+                SalesRecord sale = sales.get(line);
+                if (available == null) {
+                    results[line] = lineResult(line, sale, SaleLineStatus.REJECTED, "Stock unavailable");
+                } else if (taken + sale.getQuantitySold() > available) {
+                    results[line] = lineResult(line, sale, SaleLineStatus.REJECTED, "Low Stock. Unable to process request");
+                } else {
+                    taken += sale.getQuantitySold();
+                    saleRows.add(new Object[]{sku, sale.getQuantitySold(), sale.getSaleDate()});
+                    rollup.merge(new DailySalesKey(sku, sale.getSaleDate()), (long) sale.getQuantitySold(), Long::sum);
+                    results[line] = lineResult(line, sale, SaleLineStatus.ACCEPTED, null);
+                }
+            }
+
+            if (taken > 0) {
+                decrements.add(new Object[]{taken, today, sku});
+            }
+        });
+
+        if (saleRows.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, decrements);
+        jdbcTemplate.batchUpdate(INSERT_SALE_SQL, saleRows);
+        if (!hot.isEmpty()) {
+            stockLedgerService.flushDeltas();
+        }
+        stockMovementService.recordAll(StockMovementType.SALE, saleRows.stream()
+                .map(row -> new Object[]{row[0], -(int) row[1]})
+                .toList());
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rollup.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey().sku(), entry.getKey().saleDate(), entry.getValue()})
+                .toList());
+
+        for (Object[] decrement : decrements) {
+            String sku = (String) decrement[2];
+            forecastCacheService.invalidate(sku);
+            eventPublisher.publishEvent(new StockChangedEvent(sku));
+        }
+    }
+
+    private void takeFromLedger(
+            String sku,
+            int floor,
+            List<Integer> lines,
+            List<SalesRecord> sales,
+            List<Object[]> saleRows,
+            SaleLineResultDto[] results
+    ) {
+        for (int line : lines) {
+            SalesRecord sale = sales.get(line);
+            try {
+                if (stockLedgerService.take(sku, sale.getQuantitySold(), floor, sale.getSaleDate())) {
+                    saleRows.add(new Object[]{sku, sale.getQuantitySold(), sale.getSaleDate()});
+                    results[line] = lineResult(line, sale, SaleLineStatus.ACCEPTED, null);
+                } else {
+                    results[line] = lineResult(line, sale, SaleLineStatus.REJECTED, "Low Stock. Unable to process request");
+                }
+            } catch (NotFoundException ex) {
+                results[line] = lineResult(line, sale, SaleLineStatus.REJECTED, "Stock unavailable");
+            }
+        }
+    }
+
+    static String validate(SalesRecord sale) {
+        if (sale == null) {
+            return "Sale line is required";
+        }
+        if (sale.getSku() == null || sale.getSku().isBlank()) {
+            return "SKU is required";
+        }
+        if (sale.getQuantitySold() <= 0) {
+            return "Quantity must be positive";
+        }
+        if (sale.getSaleDate() == null) {
+            return "Sale date is required";
+        }
+        return null;
+    }
+
+    private static SaleLineResultDto lineResult(int line, SalesRecord sale, SaleLineStatus status, String message) {
+        return SaleLineResultDto.builder()
+                .line(line)
+                .sku(sale == null ? null : sale.getSku())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Rebuilds daily_sales_rollup from the raw sales table. Sale inserts are
+     * blocked for the duration so no sale is counted twice or missed.
+     */
+    @Transactional
+    public int rebuildDailyRollup() {
+        rollupRepository.lockSales();
+        // Pending ledger deltas would add their sales to the rebuilt rollup a second time
+        stockLedgerStore.reconcile();
+        rollupRepository.deleteAllInBatch();
+
+        int rows = rollupRepository.backfillFromSales();
+        log.info("Daily sales rollup rebuilt with {} rows", rows);
+        return rows;
+    }
+
+    public boolean isRollupMissing() {
+        return rollupRepository.count() == 0 && salesRepository.count() > 0;
+    }
+
+    private record DailySalesKey(String sku, LocalDate saleDate) {}
+}
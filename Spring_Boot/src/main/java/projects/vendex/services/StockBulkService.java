@@ -0,0 +1,264 @@
+package projects.vendex.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.BulkImportResultDto;
+import projects.vendex.dtos.BulkRowErrorDto;
+import projects.vendex.dtos.StockImportRowDto;
+import projects.vendex.enums.BulkFormat;
+import projects.vendex.util.CsvCodec;
+import projects.vendex.util.StockBulkConfig;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bulk product + stock import and export for onboarding whole stores.
+ *
+ * Uploads are read one line at a time and written every stock.bulk.batch-size
+ * valid rows, each chunk in its own transaction, so neither the file nor the import
+ * is ever held whole. Invalid rows are skipped and reported with their line number;
+ * chunks already written stay written if a later one fails.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockBulkService {
+
+    private final StockBulkStore store;
+    private final StockBulkConfig config;
+    private final ObjectMapper objectMapper;
+
+    // Bounds how far an unterminated quote can run before the record is rejected
+    private static final int MAX_RECORD_LINES = 20;
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("sku", "product_name", "category", "unit_cost", "active", "on_hand");
+
+    public BulkImportResultDto importRows(InputStream body, BulkFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        ImportProgress progress = new ImportProgress(config.getMaxReportedErrors());
+        List<StockImportRowDto> chunk = new ArrayList<>(config.getBatchSize());
+
+        Map<String, Integer> columns = null;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            // A quoted CSV field may carry line breaks; keep reading until its quote closes
+            long recordLine = lineNumber;
+            int recordLines = 1;
+            while (format == BulkFormat.CSV && !CsvCodec.isComplete(line) && recordLines < MAX_RECORD_LINES) {
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                lineNumber++;
+                recordLines++;
+                line = line + "\n" + next;
+            }
+            if (format == BulkFormat.CSV && columns == null) {
+                columns = readHeader(line);
+                continue;
+            }
+
+            progress.rows++;
+            StockImportRowDto row;
+            try {
+                row = format == BulkFormat.CSV ? fromCsv(line, columns) : fromJson(line);
+            } catch (IllegalArgumentException ex) {
+                progress.reject(recordLine, null, ex.getMessage());
+                continue;
+            }
+
+            String error = validate(row);
+            if (error != null) {
+                progress.reject(recordLine, row.getSku(), error);
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() >= config.getBatchSize()) {
+                write(chunk, progress);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, progress);
+        }
+
+        log.info("Bulk import: {} rows, {} imported, {} rejected",
+                progress.rows, progress.imported, progress.rejected);
+        return progress.toResult();
+    }
+
+    public void export(OutputStream out, BulkFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == BulkFormat.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+        try {
+            store.exportAll(row -> {
+                try {
+                    writer.write(format == BulkFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // Client went away mid-download
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    static String validate(StockImportRowDto row) {
+        if (row.getSku() == null || row.getSku().isBlank()) {
+            return "SKU is required";
+        }
+        if (row.getProductName() == null || row.getProductName().isBlank()) {
+            return "Product name is required";
+        }
+        if (row.getCategory() == null || row.getCategory().isBlank()) {
+            return "Category is required";
+        }
+        if (row.getUnitCost() == null || !Double.isFinite(row.getUnitCost()) || row.getUnitCost() < 0) {
+            return "Unit cost must be a finite number, zero or more";
+        }
+        if (row.getOnHand() == null || row.getOnHand() < 0) {
+            return "On hand must be zero or more";
+        }
+        return null;
+    }
+
+    private void write(List<StockImportRowDto> chunk, ImportProgress progress) {
+        store.writeChunk(chunk);
+        progress.imported += chunk.size();
+        chunk.clear();
+    }
+
+    private static Map<String, Integer> readHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvCodec.parse(line);
+        for (int i = 0; i < names.size(); i++) {
+            // product_name, productName and "Product Name" all name the same column
+            columns.put(names.get(i).replaceAll("[\\s_]", "").toLowerCase(), i);
+        }
+        for (String required : List.of("sku", "productname", "category", "unitcost", "onhand")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static StockImportRowDto fromCsv(String line, Map<String, Integer> columns) {
+        List<String> fields = CsvCodec.parse(line);
+        return StockImportRowDto.builder()
+                .sku(field(fields, columns, "sku"))
+                .productName(field(fields, columns, "productname"))
+                .category(field(fields, columns, "category"))
+                .unitCost(parse(field(fields, columns, "unitcost"), Double::valueOf, "unit cost"))
+                .active(parse(field(fields, columns, "active"), StockBulkService::parseBoolean, "active"))
+                .onHand(parse(field(fields, columns, "onhand"), Integer::valueOf, "on hand"))
+                .build();
+    }
+
+    private StockImportRowDto fromJson(String line) {
+        try {
+            return objectMapper.readValue(line, StockImportRowDto.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private static String toCsv(StockImportRowDto row) {
+        return String.join(",",
+                CsvCodec.escape(row.getSku()),
+                CsvCodec.escape(row.getProductName()),
+                CsvCodec.escape(row.getCategory()),
+                CsvCodec.escape(row.getUnitCost()),
+                CsvCodec.escape(row.getActive()),
+                CsvCodec.escape(row.getOnHand()));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private static final class ImportProgress {
+        private final int maxReportedErrors;
+        private final List<BulkRowErrorDto> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(long line, String sku, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(BulkRowErrorDto.builder().line(line).sku(sku).message(message).build());
+            }
+        }
+
+        private BulkImportResultDto toResult() {
+            return BulkImportResultDto.builder()
+                    .rows(rows)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .errorsTruncated(rejected > errors.size())
+                    .build();
+        }
+    }
+}
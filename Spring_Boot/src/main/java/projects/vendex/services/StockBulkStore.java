@@ -0,0 +1,152 @@
+package projects.vendex.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.StockImportRowDto;
+import projects.vendex.enums.StockMovementType;
+import projects.vendex.events.StockChangedEvent;
+import projects.vendex.util.StockBulkConfig;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Database side of {@link StockBulkService}: one transaction per import chunk and a
+ * cursor-backed read for export.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockBulkStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final StockMovementService stockMovementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockBulkConfig config;
+    private final StockLedgerService stockLedgerService;
+
+    // Same lock order as batch sales ingestion, so the two cannot deadlock
+    private static final String LOCK_STOCK_SQL = """
+            SELECT sku, on_hand FROM stock
+            WHERE sku IN (:skus)
+            ORDER BY sku
+            FOR UPDATE
+            """;
+
+    private static final String UPSERT_PRODUCT_SQL = """
+            INSERT INTO products (sku, product_name, category, unit_cost, active)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (sku)
+            DO UPDATE SET product_name = EXCLUDED.product_name,
+                          category = EXCLUDED.category,
+                          unit_cost = EXCLUDED.unit_cost,
+                          active = EXCLUDED.active
+            """;
+
+    private static final String UPSERT_STOCK_SQL = """
+            INSERT INTO stock (sku, on_hand, last_updated)
+            VALUES (?, ?, ?)
+            ON CONFLICT (sku)
+            DO UPDATE SET on_hand = EXCLUDED.on_hand,
+                          last_updated = EXCLUDED.last_updated
+            """;
+
+    private static final String EXPORT_SQL = """
+            SELECT p.sku, p.product_name, p.category, p.unit_cost, p.active,
+                   COALESCE(s.on_hand, 0) AS on_hand
+            FROM products p
+            LEFT JOIN stock s ON s.sku = p.sku
+            ORDER BY p.sku
+            """;
+
+    /**
+     * Upserts validated rows: products and stock go out as two JDBC batches, and
+     * each stock change is logged as an adjustment movement. When a SKU repeats in
+     * the chunk the last row wins.
+     */
+    @Transactional
+    public void writeChunk(List<StockImportRowDto> rows) {
+        Set<String> skus = new LinkedHashSet<>();
+        rows.forEach(row -> skus.add(row.getSku()));
+
+        // Hot SKUs' pending ledger sales are folded in first, so the file's level is final
+        stockLedgerService.lockExclusive(skus);
+
+        Map<String, Integer> onHand = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                LOCK_STOCK_SQL,
+                Map.of("skus", skus),
+                (RowCallbackHandler) rs -> onHand.put(rs.getString("sku"), rs.getInt("on_hand"))
+        );
+
+        // Stable sort keeps last-row-wins and writes new rows in lock order too
+        List<StockImportRowDto> ordered = rows.stream()
+                .sorted(Comparator.comparing(StockImportRowDto::getSku))
+                .toList();
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> stock = new ArrayList<>();
+        List<Object[]> movements = new ArrayList<>();
+
+        for (StockImportRowDto row : ordered) {
+            products.add(new Object[]{
+                    row.getSku(), row.getProductName(), row.getCategory(), row.getUnitCost(),
+                    // Active unless the file says otherwise
+                    !Boolean.FALSE.equals(row.getActive())
+            });
+            stock.add(new Object[]{row.getSku(), row.getOnHand(), today});
+
+            Integer previous = onHand.put(row.getSku(), row.getOnHand());
+            int delta = row.getOnHand() - (previous == null ? 0 : previous);
+            if (delta != 0) {
+                movements.add(new Object[]{row.getSku(), delta});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, products);
+        jdbcTemplate.batchUpdate(UPSERT_STOCK_SQL, stock);
+        stockMovementService.recordAll(StockMovementType.ADJUSTMENT, movements);
+
+        for (String sku : skus) {
+            eventPublisher.publishEvent(new StockChangedEvent(sku));
+        }
+    }
+
+    /**
+     * Streams every product with its stock level to {@code sink} in SKU order. The
+     * transaction keeps the PostgreSQL cursor open, so rows are fetched in pages
+     * rather than loaded at once.
+     */
+    @Transactional
+    public void exportAll(Consumer<StockImportRowDto> sink) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(EXPORT_SQL);
+                    statement.setFetchSize(config.getExportFetchSize());
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> sink.accept(StockImportRowDto.builder()
+                        .sku(rs.getString("sku"))
+                        .productName(rs.getString("product_name"))
+                        .category(rs.getString("category"))
+                        .unitCost(rs.getDouble("unit_cost"))
+                        .active(rs.getBoolean("active"))
+                        .onHand(rs.getInt("on_hand"))
+                        .build())
+        );
+    }
+}
@@ -0,0 +1,365 @@
+package projects.vendex.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import projects.vendex.dtos.StockLedgerCheckDto;
+import projects.vendex.dtos.StockLedgerStatsDto;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.util.StockLedgerConfig;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory available-to-sell counters for hot SKUs (stock.ledger.hot-skus).
+ *
+ * Every change to a hot SKU's stock goes through here, inside the writer's
+ * transaction:
+ * <ul>
+ *   <li>Sales call {@link #lockShared} and then {@link #take}: a CAS on the SKU's
+ *   counter plus an appended delta row, so tills never queue on the stock row.
+ *   stock.on_hand itself is only moved by the background reconciler.</li>
+ *   <li>Everything else (receipts, adjustments, absolute sets, imports) calls
+ *   {@link #lockExclusive}, which applies the SKU's pending deltas first so the
+ *   write sees the full level, and drops the counter after the transaction so the
+ *   next sale reloads it.</li>
+ * </ul>
+ * Counters load lazily as on_hand + pending deltas, so after a crash they come back
+ * exactly from the durable rows.
+ *
+ * Locks are striped by SKU hash and held until the transaction completes. Sales
+ * share the read lock, so they never wait on each other; exclusive writers and
+ * consistency checks take the write lock, so neither sees a sale half-committed.
+ * Stripes are always locked in index order, so two writers cannot deadlock: a
+ * transaction may lock more SKUs later only on higher stripes, or SKUs whose
+ * stripes it already holds, so multi-SKU writers lock everything up front.
+ */
+@Slf4j
+@Service
+public class StockLedgerService {
+
+    private final StockLedgerStore store;
+    private final StockLedgerConfig config;
+
+    private final Set<String> hotSkus;
+    private final ReentrantReadWriteLock[] stripes;
+    private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    private final AtomicLong reconcileFailures = new AtomicLong();
+    private volatile LocalDateTime lastReconcileAt;
+    private volatile int lastReconciledSkus;
+
+    private ScheduledExecutorService reconciler;
+
+    public StockLedgerService(StockLedgerStore store, StockLedgerConfig config) {
+        this.store = store;
+        this.config = config;
+        this.hotSkus = Set.copyOf(config.getHotSkus());
+        this.stripes = new ReentrantReadWriteLock[Math.max(1, config.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public boolean handles(String sku) {
+        return config.isEnabled() && sku != null && hotSkus.contains(sku);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        // Crash recovery: whatever was pending when we went down is applied first
+        reconcileSafely();
+
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileSafely,
+                config.getReconcileIntervalMs(), config.getReconcileIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("Stock ledger enabled for {} hot SKUs", hotSkus.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reconciler == null) {
+            return;
+        }
+        reconciler.shutdown();
+        try {
+            reconciler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        reconcileSafely();
+    }
+
+    /**
+     * Takes the read locks for the hot SKUs among {@code skus} until the current
+     * transaction completes, before any {@link #take}. Returns the hot SKUs, which
+     * may be empty.
+     */
+    public Set<String> lockShared(Collection<String> skus) {
+        Set<String> hot = hotOnly(skus);
+        if (!hot.isEmpty()) {
+            transaction().lock(stripesOf(hot), false);
+        }
+        return hot;
+    }
+
+    /**
+     * Takes the write locks for the hot SKUs among {@code skus} until the current
+     * transaction completes, and folds their pending deltas into on_hand within it.
+     * Their counters are dropped afterwards, committed or not. Call before touching
+     * their stock rows; SKUs this transaction already holds are skipped.
+     */
+    public void lockExclusive(Collection<String> skus) {
+        Set<String> hot = hotOnly(skus);
+        if (hot.isEmpty()) {
+            return;
+        }
+        LedgerTransaction tx = transaction();
+        tx.lock(stripesOf(hot), true);
+        hot.removeAll(tx.evict);
+        if (!hot.isEmpty()) {
+            tx.evict.addAll(hot);
+            store.drain(hot);
+        }
+    }
+
+    /**
+     * Takes {@code quantity} units from a hot SKU's counter, leaving at least
+     * {@code floor} behind (units held for baskets), and appends the sale's delta.
+     * The units are given back if the transaction rolls back. Requires
+     * {@link #lockShared} for the SKU in this transaction.
+     *
+     * @return false when there is not enough stock
+     * @throws NotFoundException when the SKU has no stock row
+     */
+    public boolean take(String sku, int quantity, int floor, LocalDate saleDate) {
+        LedgerTransaction tx = current();
+        AtomicInteger available = counter(sku);
+        while (true) {
+            int current = available.get();
+            if (current - quantity < floor) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - quantity)) {
+                break;
+            }
+        }
+        tx.onRollback.add(() -> available.addAndGet(quantity));
+        tx.deltas.add(new Object[]{sku, -quantity, saleDate});
+        return true;
+    }
+
+    /**
+     * Writes the deltas collected by {@link #take} in this transaction as one batch.
+     * Callers flush once they have taken every line.
+     */
+    public void flushDeltas() {
+        LedgerTransaction tx = current();
+        if (!tx.deltas.isEmpty()) {
+            store.appendDeltas(List.copyOf(tx.deltas));
+            tx.deltas.clear();
+        }
+    }
+
+    /**
+     * Current available-to-sell for a hot SKU, including sales not reconciled yet.
+     */
+    public int getAvailable(String sku) {
+        Lock lock = stripe(sku).readLock();
+        lock.lock();
+        try {
+            return counter(sku).get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compares each loaded counter with on_hand + pending deltas in the database,
+     * optionally resetting counters that disagree.
+     */
+    public List<StockLedgerCheckDto> check(boolean repair) {
+        List<StockLedgerCheckDto> results = new ArrayList<>();
+        for (String sku : List.copyOf(counters.keySet())) {
+            Lock lock = stripe(sku).writeLock();
+            lock.lock();
+            try {
+                AtomicInteger available = counters.get(sku);
+                if (available == null) {
+                    continue;
+                }
+                Integer database = store.loadAvailable(sku);
+                boolean consistent = database != null && database == available.get();
+                if (!consistent) {
+                    log.warn("Stock ledger drift for {}: ledger {}, database {}", sku, available.get(), database);
+                }
+                if (!consistent && repair) {
+                    counters.remove(sku);
+                }
+                results.add(StockLedgerCheckDto.builder()
+                        .sku(sku)
+                        .ledgerAvailable(available.get())
+                        .databaseAvailable(database)
+                        .consistent(consistent)
+                        .repaired(!consistent && repair)
+                        .build());
+            } finally {
+                lock.unlock();
+            }
+        }
+        return results;
+    }
+
+    public StockLedgerStatsDto getStats() {
+        return StockLedgerStatsDto.builder()
+                .enabled(config.isEnabled())
+                .hotSkus(hotSkus.size())
+                .loadedSkus(counters.size())
+                .pendingDeltas(config.isEnabled() ? store.countPending() : 0)
+                .lastReconcileAt(lastReconcileAt)
+                .lastReconciledSkus(lastReconciledSkus)
+                .reconcileFailures(reconcileFailures.get())
+                .build();
+    }
+
+    private void reconcileSafely() {
+        try {
+            Collection<String> skus = store.reconcile();
+            lastReconcileAt = LocalDateTime.now();
+            lastReconciledSkus = skus.size();
+        } catch (RuntimeException ex) {
+            reconcileFailures.incrementAndGet();
+            log.warn("Stock ledger reconciliation failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    private AtomicInteger counter(String sku) {
+        return counters.computeIfAbsent(sku, key -> {
+            Integer available = store.loadAvailable(key);
+            if (available == null) {
+                throw new NotFoundException("Stock unavailable");
+            }
+            return new AtomicInteger(available);
+        });
+    }
+
+    private Set<String> hotOnly(Collection<String> skus) {
+        Set<String> hot = new TreeSet<>();
+        for (String sku : skus) {
+            if (handles(sku)) {
+                hot.add(sku);
+            }
+        }
+        return hot;
+    }
+
+    private SortedSet<Integer> stripesOf(Set<String> skus) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        skus.forEach(sku -> indexes.add(stripeIndex(sku)));
+        return indexes;
+    }
+
+    private LedgerTransaction transaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock ledger locks need an active transaction");
+        }
+        LedgerTransaction existing = (LedgerTransaction) TransactionSynchronizationManager.getResource(this);
+        if (existing != null) {
+            return existing;
+        }
+        LedgerTransaction tx = new LedgerTransaction();
+        TransactionSynchronizationManager.bindResource(this, tx);
+        TransactionSynchronizationManager.registerSynchronization(tx);
+        return tx;
+    }
+
+    private LedgerTransaction current() {
+        LedgerTransaction tx = (LedgerTransaction) TransactionSynchronizationManager.getResource(this);
+        if (tx == null) {
+            throw new IllegalStateException("Stock ledger locks were not taken in this transaction");
+        }
+        return tx;
+    }
+
+    private ReentrantReadWriteLock stripe(String sku) {
+        return stripes[stripeIndex(sku)];
+    }
+
+    private int stripeIndex(String sku) {
+        return Math.floorMod(sku.hashCode(), stripes.length);
+    }
+
+    /**
+     * Locks and undo actions of one transaction. Everything is released in
+     * afterCompletion, i.e. only once the outcome is durable.
+     */
+    private final class LedgerTransaction implements TransactionSynchronization {
+        private final List<Lock> locks = new ArrayList<>();
+        // Stripe index -> whether it is held exclusively
+        private final TreeMap<Integer, Boolean> held = new TreeMap<>();
+        private final List<Runnable> onRollback = new ArrayList<>();
+        private final List<Object[]> deltas = new ArrayList<>();
+        private final Set<String> evict = new TreeSet<>();
+
+        private void lock(SortedSet<Integer> indexes, boolean exclusive) {
+            for (int index : indexes) {
+                Boolean heldExclusive = held.get(index);
+                if (heldExclusive != null) {
+                    if (exclusive && !heldExclusive) {
+                        throw new IllegalStateException("Stock ledger read lock cannot be upgraded to a write lock");
+                    }
+                    continue;
+                }
+                if (!held.isEmpty() && index < held.lastKey()) {
+                    throw new IllegalStateException("Stock ledger stripes must be locked in index order; lock every SKU up front");
+                }
+                Lock lock = exclusive ? stripes[index].writeLock() : stripes[index].readLock();
+                lock.lock();
+                locks.add(lock);
+                held.put(index, exclusive);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status != STATUS_COMMITTED) {
+                    onRollback.forEach(Runnable::run);
+                }
+                evict.forEach(counters::remove);
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockLedgerService.this);
+            }
+        }
+    }
+}
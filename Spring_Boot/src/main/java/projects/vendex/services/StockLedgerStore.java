@@ -0,0 +1,148 @@
+package projects.vendex.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import projects.vendex.events.StockChangedEvent;
+import projects.vendex.repositories.DailySalesRollupRepository;
+import projects.vendex.repositories.StockLedgerDeltaRepository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Database side of {@link StockLedgerService}: delta appends, and the transactions
+ * that fold deltas into stock and the daily rollup.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockLedgerStore {
+
+    private final StockLedgerDeltaRepository deltaRepository;
+    private final DailySalesRollupRepository rollupRepository;
+    private final ForecastCacheService forecastCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String INSERT_DELTA_SQL = """
+            INSERT INTO stock_ledger_deltas (sku, delta, sale_date, created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE stock SET on_hand = on_hand + ?, last_updated = ?
+            WHERE sku = ?
+            """;
+
+    private static final String CLAIM_DELTAS_SQL = """
+            DELETE FROM stock_ledger_deltas
+            RETURNING sku, sale_date, delta
+            """;
+
+    private static final String CLAIM_SKU_DELTAS_SQL = """
+            DELETE FROM stock_ledger_deltas
+            WHERE sku IN (:skus)
+            RETURNING sku, sale_date, delta
+            """;
+
+    private record DailyKey(String sku, LocalDate saleDate) {
+    }
+
+    /**
+     * Appends deltas as one JDBC batch; rows are {sku, signed quantity, sale date}.
+     * Plain inserts, so tills selling the same SKU do not queue on its stock row.
+     */
+    @Transactional
+    public void appendDeltas(List<Object[]> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_DELTA_SQL, deltas.stream()
+                .map(row -> new Object[]{row[0], row[1], row[2], now})
+                .toList());
+    }
+
+    public Integer loadAvailable(String sku) {
+        return deltaRepository.findAvailable(sku);
+    }
+
+    public long countPending() {
+        return deltaRepository.count();
+    }
+
+    /**
+     * Takes every committed delta and applies it, all in one transaction: after a
+     * crash either all of them are still pending or none are. The deltas are claimed
+     * with DELETE ... RETURNING so a sale committing mid-reconcile is either in this
+     * round or the next, never lost between a read and a delete.
+     * Returns the SKUs whose stock moved.
+     */
+    @Transactional
+    public Set<String> reconcile() {
+        Map<String, Long> bySku = new LinkedHashMap<>();
+        Map<DailyKey, Long> byDay = new LinkedHashMap<>();
+        jdbcTemplate.query(CLAIM_DELTAS_SQL, (RowCallbackHandler) rs -> collect(rs, bySku, byDay));
+        return apply(bySku, byDay);
+    }
+
+    /**
+     * Applies the pending deltas of the given SKUs inside the caller's transaction,
+     * so an absolute write to on_hand that follows starts from the full level.
+     */
+    @Transactional
+    public Set<String> drain(Collection<String> skus) {
+        Map<String, Long> bySku = new LinkedHashMap<>();
+        Map<DailyKey, Long> byDay = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query(
+                CLAIM_SKU_DELTAS_SQL,
+                Map.of("skus", skus),
+                (RowCallbackHandler) rs -> collect(rs, bySku, byDay)
+        );
+        return apply(bySku, byDay);
+    }
+
+    private static void collect(ResultSet rs, Map<String, Long> bySku, Map<DailyKey, Long> byDay)
+            throws SQLException {
+        String sku = rs.getString("sku");
+        long delta = rs.getLong("delta");
+        bySku.merge(sku, delta, Long::sum);
+        Date saleDate = rs.getDate("sale_date");
+        if (saleDate != null) {
+            byDay.merge(new DailyKey(sku, saleDate.toLocalDate()), delta, Long::sum);
+        }
+    }
+
+    private Set<String> apply(Map<String, Long> bySku, Map<DailyKey, Long> byDay) {
+        if (bySku.isEmpty()) {
+            return Set.of();
+        }
+
+        byDay.forEach((key, delta) -> {
+            if (delta != 0) {
+                rollupRepository.addToRollup(key.sku(), key.saleDate(), -delta);
+            }
+        });
+
+        LocalDate today = LocalDate.now();
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, bySku.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), today, entry.getKey()})
+                .toList());
+
+        for (String sku : bySku.keySet()) {
+            forecastCacheService.invalidate(sku);
+            eventPublisher.publishEvent(new StockChangedEvent(sku));
+        }
+        return bySku.keySet();
+    }
+}
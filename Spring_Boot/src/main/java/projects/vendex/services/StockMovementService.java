@@ -0,0 +1,237 @@
+package projects.vendex.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.StockLevelDto;
+import projects.vendex.entities.StockLevelSnapshot;
+import projects.vendex.entities.StockMovement;
+import projects.vendex.enums.StockMovementType;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.repositories.StockLedgerDeltaRepository;
+import projects.vendex.repositories.StockLevelSnapshotRepository;
+import projects.vendex.repositories.StockMovementRepository;
+import projects.vendex.util.MovementTailView;
+import projects.vendex.util.StockMovementConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only stock movement log with periodic per-SKU snapshots.
+ *
+ * Every stock write appends a movement in its own transaction, next to the
+ * stock.on_hand update that still guards against overselling. The level of a SKU
+ * at any time is its latest snapshot at or before that time plus the movements
+ * after it, so point-in-time reads only scan the short tail.
+ */
+@Slf4j
+@Service
+public class StockMovementService {
+
+    private final StockMovementRepository movementRepository;
+    private final StockLevelSnapshotRepository snapshotRepository;
+    private final StockLedgerDeltaRepository deltaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockMovementConfig config;
+
+    private ScheduledExecutorService snapshotter;
+
+    private static final String INSERT_MOVEMENT_SQL = """
+            INSERT INTO stock_movements (sku, type, quantity, occurred_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    // Level before any recorded movement, for SKUs that have no snapshot yet.
+    // Ledger deltas count because their sales are already in the movement log.
+    // It holds from the SKU's first movement on, or from now if it has none.
+    private static final String BASELINE_SQL = """
+            INSERT INTO stock_snapshots (sku, level, last_movement_id, txid_horizon, as_of, taken_at)
+            SELECT s.sku,
+                   s.on_hand
+                     + COALESCE((SELECT SUM(d.delta) FROM stock_ledger_deltas d WHERE d.sku = s.sku), 0)
+                     - COALESCE((SELECT SUM(m.quantity) FROM stock_movements m WHERE m.sku = s.sku), 0),
+                   0, 0,
+                   COALESCE((SELECT MIN(m.occurred_at) FROM stock_movements m WHERE m.sku = s.sku), ?),
+                   ?
+            FROM stock s
+            WHERE NOT EXISTS (SELECT 1 FROM stock_snapshots ss WHERE ss.sku = s.sku)
+            ON CONFLICT (sku, last_movement_id) DO NOTHING
+            """;
+
+    // Rolls each SKU's latest snapshot forward to the oldest transaction still
+    // running. Everything below it has finished, so no movement can commit into
+    // the covered range later, whatever its id.
+    private static final String SNAPSHOT_SQL = """
+            WITH horizon AS (
+                SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS txid
+            )
+            INSERT INTO stock_snapshots (sku, level, last_movement_id, txid_horizon, as_of, taken_at)
+            SELECT m.sku, latest.level + SUM(m.quantity), MAX(m.id), horizon.txid,
+                   GREATEST(latest.as_of, MAX(m.occurred_at)), ?
+            FROM horizon, stock_movements m
+            JOIN LATERAL (
+                SELECT ss.level, ss.txid_horizon, ss.as_of
+                FROM stock_snapshots ss
+                WHERE ss.sku = m.sku
+                ORDER BY ss.txid_horizon DESC
+                LIMIT 1
+            ) latest ON TRUE
+            WHERE m.txid >= latest.txid_horizon AND m.txid < horizon.txid
+            GROUP BY m.sku, latest.level, latest.as_of, horizon.txid
+            HAVING COUNT(*) >= ?
+            ON CONFLICT (sku, last_movement_id) DO NOTHING
+            """;
+
+    // Snapshots keyed by movement id from before horizons were tracked; the next
+    // round takes fresh baselines for their SKUs
+    private static final String DROP_UNTRACKED_SQL = """
+            DELETE FROM stock_snapshots WHERE txid_horizon IS NULL
+            """;
+
+    public StockMovementService(
+            StockMovementRepository movementRepository,
+            StockLevelSnapshotRepository snapshotRepository,
+            StockLedgerDeltaRepository deltaRepository,
+            JdbcTemplate jdbcTemplate,
+            StockMovementConfig config
+    ) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.deltaRepository = deltaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+
+    /**
+     * Appends one movement. Call inside the transaction that changes stock, so the
+     * log and on_hand commit together.
+     */
+    public void record(String sku, StockMovementType type, int quantity) {
+        if (quantity == 0) {
+            return;
+        }
+        movementRepository.save(StockMovement.builder()
+                .sku(sku)
+                .type(type)
+                .quantity(quantity)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Appends many movements as one JDBC batch; rows are {sku, signed quantity}.
+     */
+    public void recordAll(StockMovementType type, List<Object[]> movements) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movements.stream()
+                .map(row -> new Object[]{row[0], type.name(), row[1], now})
+                .toList());
+    }
+
+    /**
+     * Stock level of a SKU at {@code at}, or now when null. Read-only: baselines
+     * are left to the snapshotter. Until a SKU has its baseline, the current level
+     * comes from the stock row, and past levels are summed from its first
+     * movement, which is all of its history for a SKU created since the log began.
+     */
+    public StockLevelDto getLevel(String sku, LocalDateTime at) {
+        LocalDateTime pointInTime = at == null ? LocalDateTime.now() : at;
+
+        StockLevelSnapshot snapshot = snapshotRepository
+                .findFirstBySkuAndAsOfLessThanEqualOrderByLastMovementIdDesc(sku, pointInTime)
+                .orElse(null);
+        if (snapshot == null && snapshotRepository.existsBySku(sku)) {
+            // History before the baseline was never recorded
+            throw new NotFoundException("No stock history for SKU " + sku + " at " + pointInTime);
+        }
+        if (snapshot == null && at == null) {
+            Integer available = deltaRepository.findAvailable(sku);
+            if (available == null) {
+                throw new NotFoundException("Stock not found for SKU: " + sku);
+            }
+            return StockLevelDto.builder()
+                    .sku(sku)
+                    .at(pointInTime)
+                    .level(available)
+                    .build();
+        }
+
+        long horizon = snapshot == null ? 0 : snapshot.getTxidHorizon();
+        long baseLevel = snapshot == null ? 0 : snapshot.getLevel();
+        MovementTailView tail = movementRepository.sumTail(sku, horizon, pointInTime);
+        if (snapshot == null && tail.getMovements() == 0) {
+            throw new NotFoundException("No stock history for SKU " + sku + " at " + pointInTime);
+        }
+
+        return StockLevelDto.builder()
+                .sku(sku)
+                .at(pointInTime)
+                .level(baseLevel + tail.getQuantity())
+                .snapshotLevel(baseLevel)
+                .snapshotAsOf(snapshot == null ? null : snapshot.getAsOf())
+                .tailMovements(tail.getMovements())
+                .build();
+    }
+
+    public List<StockMovement> getRecentMovements(String sku, int limit) {
+        if (limit <= 0 || limit > 1000) {
+            throw new IllegalArgumentException("Limit must be between 1 and 1000");
+        }
+        return movementRepository.findBySkuOrderByIdDesc(sku, PageRequest.of(0, limit));
+    }
+
+    public int takeBaselines() {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(BASELINE_SQL, now, now);
+    }
+
+    /**
+     * Snapshots every SKU with enough finished movements since its last snapshot.
+     * Movements are never deleted, so older snapshots keep serving history.
+     */
+    public int takeSnapshots() {
+        return jdbcTemplate.update(SNAPSHOT_SQL, LocalDateTime.now(), config.getMinTailMovements());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int dropped = jdbcTemplate.update(DROP_UNTRACKED_SQL);
+        if (dropped > 0) {
+            log.info("Dropped {} stock snapshots without a transaction horizon", dropped);
+        }
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshotSafely,
+                0, config.getSnapshotIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+    }
+
+    private void snapshotSafely() {
+        try {
+            int baselines = takeBaselines();
+            int snapshots = takeSnapshots();
+            if (baselines > 0 || snapshots > 0) {
+                log.info("Stock snapshots taken: {} baselines, {} rolled forward", baselines, snapshots);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Stock snapshot round failed, will retry: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package projects.vendex.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import projects.vendex.dtos.StockAvailabilityDto;
+import projects.vendex.dtos.StockReservationDto;
+import projects.vendex.dtos.StockReservationRequestDto;
+import projects.vendex.dtos.StockReservationStatsDto;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.enums.ReservationStatus;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.util.StockReservationConfig;
+import projects.vendex.util.TimerWheel;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Short-lived stock holds for baskets that have not checked out yet.
+ *
+ * Holds live in memory only: a per-SKU reserved counter makes available-to-sell
+ * (on hand - reserved) an O(1) read, and expiry runs off a {@link TimerWheel}
+ * ticked by one background thread instead of polling a table. A restart drops
+ * every hold, which simply returns the units to sale.
+ *
+ * On hand comes from the stock snapshot, or from the in-memory ledger for hot SKUs
+ * so that ledger sales count before they are reconciled.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final StockSnapshotService stockSnapshotService;
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationConfig config;
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> reservedBySku = new ConcurrentHashMap<>();
+    private final TimerWheel<Hold> timeouts;
+
+    private final AtomicLong reservedCount = new AtomicLong();
+    private final AtomicLong committedCount = new AtomicLong();
+    private final AtomicLong releasedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private ScheduledExecutorService ticker;
+
+    private static final class Hold {
+        private final String id;
+        private final String basketId;
+        private final String sku;
+        private final int quantity;
+        private final long expiresAtMillis;
+        private final AtomicReference<ReservationStatus> status = new AtomicReference<>(ReservationStatus.ACTIVE);
+
+        private Hold(String id, String basketId, String sku, int quantity, long expiresAtMillis) {
+            this.id = id;
+            this.basketId = basketId;
+            this.sku = sku;
+            this.quantity = quantity;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    public StockReservationService(
+            StockSnapshotService stockSnapshotService,
+            StockLedgerService stockLedgerService,
+            StockReservationConfig config
+    ) {
+        this.stockSnapshotService = stockSnapshotService;
+        this.stockLedgerService = stockLedgerService;
+        this.config = config;
+        this.timeouts = new TimerWheel<>(config.getTickMs(), config.getWheelSlots(), System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDue, config.getTickMs(), config.getTickMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    public StockReservationDto reserve(StockReservationRequestDto request) {
+        if (request.getSku() == null || request.getSku().isBlank()) {
+            throw new IllegalArgumentException("SKU is required");
+        }
+        if (request.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        int ttlSeconds = request.getTtlSeconds() == null ? config.getDefaultTtlSec() : request.getTtlSeconds();
+        if (ttlSeconds <= 0 || ttlSeconds > config.getMaxTtlSec()) {
+            throw new IllegalArgumentException("TTL must be between 1 and " + config.getMaxTtlSec() + " seconds");
+        }
+
+        String sku = request.getSku();
+        AtomicInteger reserved = reservedBySku.computeIfAbsent(sku, key -> new AtomicInteger());
+        while (true) {
+            int current = reserved.get();
+            if (onHand(sku) - current < request.getQuantity()) {
+                rejectedCount.incrementAndGet();
+                throw new IllegalArgumentException("Low Stock. Unable to process request");
+            }
+            if (reserved.compareAndSet(current, current + request.getQuantity())) {
+                break;
+            }
+        }
+
+        Hold hold = new Hold(
+                UUID.randomUUID().toString(),
+                request.getBasketId(),
+                sku,
+                request.getQuantity(),
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds)
+        );
+        holds.put(hold.id, hold);
+        timeouts.schedule(hold, hold.expiresAtMillis);
+        reservedCount.incrementAndGet();
+        return toDto(hold);
+    }
+
+    public StockReservationDto get(String id) {
+        return toDto(findActive(id));
+    }
+
+    /**
+     * Turns the hold into a sale written by {@code recorder}, which may use the
+     * hold's own units (see {@link SalesService#recordReservedSale}). The hold is
+     * claimed first so it cannot expire underneath the write; if the sale fails the
+     * units go back to sale.
+     */
+    public SalesRecord commit(String id, Function<SalesRecord, SalesRecord> recorder) {
+        Hold hold = claim(id, ReservationStatus.COMMITTED);
+        SalesRecord sale = SalesRecord.builder()
+                .sku(hold.sku)
+                .quantitySold(hold.quantity)
+                .saleDate(LocalDate.now())
+                .build();
+        try {
+            SalesRecord saved = recorder.apply(sale);
+            committedCount.incrementAndGet();
+            return saved;
+        } catch (RuntimeException ex) {
+            hold.status.set(ReservationStatus.RELEASED);
+            releasedCount.incrementAndGet();
+            throw ex;
+        } finally {
+            // Only once the sale is in on hand, so available never overstates
+            unreserve(hold);
+        }
+    }
+
+    public StockReservationDto release(String id) {
+        Hold hold = claim(id, ReservationStatus.RELEASED);
+        unreserve(hold);
+        releasedCount.incrementAndGet();
+        return toDto(hold);
+    }
+
+    public StockAvailabilityDto getAvailability(String sku) {
+        int onHand = onHand(sku);
+        int reserved = reserved(sku);
+        return StockAvailabilityDto.builder()
+                .sku(sku)
+                .onHand(onHand)
+                .reserved(reserved)
+                .available(Math.max(0, onHand - reserved))
+                .build();
+    }
+
+    /**
+     * Units of {@code sku} held for open baskets. Sales and adjustments keep this
+     * much stock behind; it is read without locking, so a hold placed at the same
+     * instant as a sale may still be oversold by that sale.
+     */
+    public int getReserved(String sku) {
+        return reserved(sku);
+    }
+
+    public StockReservationStatsDto getStats() {
+        return StockReservationStatsDto.builder()
+                .activeHolds(holds.size())
+                .reservedUnits(reservedBySku.values().stream().mapToLong(AtomicInteger::get).sum())
+                .pendingTimeouts(timeouts.size())
+                .reserved(reservedCount.get())
+                .committed(committedCount.get())
+                .released(releasedCount.get())
+                .expired(expiredCount.get())
+                .rejected(rejectedCount.get())
+                .build();
+    }
+
+    private void expireDue() {
+        try {
+            for (Hold hold : timeouts.advance(System.currentTimeMillis())) {
+                if (hold.status.compareAndSet(ReservationStatus.ACTIVE, ReservationStatus.EXPIRED)) {
+                    holds.remove(hold.id);
+                    unreserve(hold);
+                    expiredCount.incrementAndGet();
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Reservation expiry tick failed: {}", ex.getMessage());
+        }
+    }
+
+    private Hold claim(String id, ReservationStatus target) {
+        Hold hold = findActive(id);
+        if (!hold.status.compareAndSet(ReservationStatus.ACTIVE, target)) {
+            throw new IllegalStateException("Reservation is no longer active: " + id);
+        }
+        holds.remove(id);
+        return hold;
+    }
+
+    private Hold findActive(String id) {
+        Hold hold = holds.get(id);
+        if (hold == null) {
+            throw new NotFoundException("Reservation not found: " + id);
+        }
+        return hold;
+    }
+
+    private void unreserve(Hold hold) {
+        reservedBySku.get(hold.sku).addAndGet(-hold.quantity);
+    }
+
+    private int reserved(String sku) {
+        AtomicInteger reserved = reservedBySku.get(sku);
+        return reserved == null ? 0 : reserved.get();
+    }
+
+    private int onHand(String sku) {
+        if (stockLedgerService.handles(sku)) {
+            return stockLedgerService.getAvailable(sku);
+        }
+        StockSnapshotService.Item item = stockSnapshotService.get(sku);
+        if (item == null) {
+            throw new NotFoundException("Stock not found for SKU: " + sku);
+        }
+        return item.onHand();
+    }
+
+    private static StockReservationDto toDto(Hold hold) {
+        return StockReservationDto.builder()
+                .id(hold.id)
+                .basketId(hold.basketId)
+                .sku(hold.sku)
+                .quantity(hold.quantity)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMillis), ZoneId.systemDefault()))
+                .status(hold.status.get())
+                .build();
+    }
+}
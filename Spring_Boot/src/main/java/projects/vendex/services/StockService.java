@@ -2,17 +2,26 @@ package projects.vendex.services;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import projects.vendex.entities.Stock;
+import projects.vendex.enums.StockMovementType;
+import projects.vendex.events.StockChangedEvent;
+import projects.vendex.exceptions.NotFoundException;
 import projects.vendex.repositories.StockRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class StockService {
 
     private final StockRepository stockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockMovementService stockMovementService;
+    private final StockLedgerService stockLedgerService;
+    private final StockReservationService stockReservationService;
 
     public int getOnHand(String sku) {
         return stockRepository.findById(sku)
@@ -27,18 +36,10 @@ public class StockService {
             throw new IllegalArgumentException("Quantity must be positive");
         }
 
-        Stock stock = stockRepository.findById(sku)
-                .orElseGet(() -> Stock.builder()
-                        .sku(sku)
-                        .onHand(0)
-                        .lastUpdated(LocalDate.now())
-                        .build()
-                );
-
-        stock.setOnHand(stock.getOnHand() + quantity);
-        stock.setLastUpdated(LocalDate.now());
-
-        stockRepository.save(stock);
+        stockLedgerService.lockExclusive(List.of(sku));
+        stockRepository.increment(sku, quantity, LocalDate.now());
+        stockMovementService.record(sku, StockMovementType.RECEIPT, quantity);
+        eventPublisher.publishEvent(new StockChangedEvent(sku));
     }
 
     @Transactional
@@ -48,20 +49,37 @@ public class StockService {
             throw new IllegalArgumentException("Quantity must be positive");
         }
 
-        Stock stock = stockRepository.findById(sku)
-                .orElseThrow(() ->
-                        new IllegalStateException("Stock not found for SKU: " + sku)
-                );
-
-        if (stock.getOnHand() < quantity) {
+        stockLedgerService.lockExclusive(List.of(sku));
+        // Units held for open baskets stay put
+        int floor = stockReservationService.getReserved(sku);
+        if (stockRepository.decrementIfAvailable(sku, quantity, floor, LocalDate.now()) == 0) {
             throw new IllegalStateException(
-                    "Insufficient stock for SKU: " + sku
+                    stockRepository.existsById(sku)
+                            ? "Insufficient stock for SKU: " + sku
+                            : "Stock not found for SKU: " + sku
             );
         }
 
-        stock.setOnHand(stock.getOnHand() - quantity);
+        stockMovementService.record(sku, StockMovementType.ADJUSTMENT, -quantity);
+        eventPublisher.publishEvent(new StockChangedEvent(sku));
+    }
+
+    @Transactional
+    public Stock setOnHand(String sku, int onHand) {
+
+        // Pending ledger sales are folded in first, or they would be applied again on top
+        stockLedgerService.lockExclusive(List.of(sku));
+
+        // Locked so the recorded adjustment is exactly the change this write makes
+        Stock stock = stockRepository.findForUpdate(sku)
+                .orElseThrow(() -> new NotFoundException("Stock not found"));
+
+        stockMovementService.record(sku, StockMovementType.ADJUSTMENT, onHand - stock.getOnHand());
+        stock.setOnHand(onHand);
         stock.setLastUpdated(LocalDate.now());
 
-        stockRepository.save(stock);
+        Stock saved = stockRepository.save(stock);
+        eventPublisher.publishEvent(new StockChangedEvent(sku));
+        return saved;
     }
 }
@@ -0,0 +1,157 @@
+package projects.vendex.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import projects.vendex.dtos.StockItemDto;
+import projects.vendex.events.StockChangedEvent;
+import projects.vendex.repositories.StockRepository;
+import projects.vendex.util.ProductSearchIndex;
+import projects.vendex.util.StockProductView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock + product snapshot for read-heavy paths such as customer chat.
+ * Loaded with one joined query at startup, then patched one SKU at a time after
+ * each committed stock or product write. Every change bumps the version.
+ * A {@link ProductSearchIndex} over the same items is kept in step.
+ */
+@Slf4j
+@Service
+public class StockSnapshotService {
+
+    private final StockRepository stockRepository;
+
+    private final Map<String, Item> items = new ConcurrentHashMap<>();
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded;
+
+    public StockSnapshotService(StockRepository stockRepository) {
+        this.stockRepository = stockRepository;
+    }
+
+    public record Item(String sku, String productName, String category, int onHand) {
+
+        public StockItemDto toStockItem() {
+            return StockItemDto.builder()
+                    .sku(sku)
+                    .name(productName)
+                    .onHand(onHand)
+                    .build();
+        }
+    }
+
+    public Collection<Item> getItems() {
+        ensureLoaded();
+        return Collections.unmodifiableCollection(items.values());
+    }
+
+    public Item get(String sku) {
+        ensureLoaded();
+        return items.get(sku);
+    }
+
+    /**
+     * Up to {@code limit} items most relevant to {@code text}; in-stock items win ties.
+     * When nothing matches, the best-stocked items are returned instead so the
+     * caller still has something to offer.
+     */
+    public List<Item> search(String text, int limit) {
+        ensureLoaded();
+        Map<String, Double> scores = searchIndex.search(text);
+
+        if (scores.isEmpty()) {
+            return items.values().stream()
+                    .filter(item -> item.onHand() > 0)
+                    .sorted(Comparator.comparingInt(Item::onHand).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+
+        Comparator<Item> byRelevance = Comparator
+                .comparingDouble((Item item) -> scores.get(item.sku()))
+                .thenComparing(item -> item.onHand() > 0)
+                .thenComparingInt(Item::onHand)
+                .reversed();
+
+        return scores.keySet().stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .sorted(byRelevance)
+                .limit(limit)
+                .toList();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<String, Item> fresh = new ConcurrentHashMap<>();
+        for (StockProductView row : stockRepository.findAllWithProduct()) {
+            fresh.put(row.getSku(), toItem(row));
+        }
+        items.keySet().retainAll(fresh.keySet());
+        items.putAll(fresh);
+        searchIndex.clear();
+        fresh.values().forEach(item -> searchIndex.put(item.sku(), item.productName(), item.category()));
+        version.incrementAndGet();
+        loaded = true;
+        log.info("Stock snapshot loaded with {} items", fresh.size());
+    }
+
+    /**
+     * Runs after the writing transaction commits (or straight away outside one), so
+     * the re-read sees the committed row. Serialized with reload() so an older read
+     * never overwrites a newer one. Ordered first among stock listeners, since some
+     * of them read the snapshot.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStockChanged(StockChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        stockRepository.findWithProductBySku(event.sku())
+                .ifPresentOrElse(
+                        row -> {
+                            items.put(row.getSku(), toItem(row));
+                            searchIndex.put(row.getSku(), row.getProductName(), row.getCategory());
+                        },
+                        () -> {
+                            items.remove(event.sku());
+                            searchIndex.remove(event.sku());
+                        }
+                );
+        version.incrementAndGet();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                reload();
+            }
+        }
+    }
+
+    private static Item toItem(StockProductView row) {
+        return new Item(row.getSku(), row.getProductName(), row.getCategory(), row.getOnHand());
+    }
+}
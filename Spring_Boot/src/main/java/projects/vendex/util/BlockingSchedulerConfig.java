@@ -0,0 +1,36 @@
+package projects.vendex.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduler for the blocking JPA work that sits around the ML calls.
+ *
+ * With spring.threads.virtual.enabled=true, Tomcat and MVC async dispatch already run
+ * on virtual threads; this bean moves the reactive pipelines' blocking hops onto
+ * virtual threads too, so thousands of slow AI requests don't grow a platform pool.
+ * Otherwise it is Reactor's bounded elastic scheduler.
+ */
+@Slf4j
+@Configuration
+public class BlockingSchedulerConfig {
+
+    // dispose() is a no-op on the shared bounded elastic scheduler
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        if (virtualThreads) {
+            log.info("Blocking work runs on virtual threads");
+            return Schedulers.fromExecutorService(
+                    Executors.newVirtualThreadPerTaskExecutor(), "vendex-blocking");
+        }
+        return Schedulers.boundedElastic();
+    }
+}
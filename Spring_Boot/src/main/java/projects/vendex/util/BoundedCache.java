@@ -0,0 +1,119 @@
+package projects.vendex.util;
+
+import projects.vendex.dtos.CacheStatsDto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Small thread-safe LRU cache with hit/miss/eviction counters and an optional
+ * time-to-live per entry.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, TimedValue<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public BoundedCache(int maxSize) {
+        this(maxSize, null);
+    }
+
+    /**
+     * @param ttl how long an entry may be served after it was put; null for no limit
+     */
+    public BoundedCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl == null ? 0 : ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, TimedValue<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        return getIf(key, value -> true);
+    }
+
+    /**
+     * Returns the cached value only if it passes {@code valid}; a stale entry is
+     * dropped and counted as a miss.
+     */
+    public V getIf(K key, Predicate<V> valid) {
+        V value = null;
+        synchronized (entries) {
+            TimedValue<V> entry = entries.get(key);
+            if (entry != null && ttlMillis > 0 && System.currentTimeMillis() >= entry.expiresAt()) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+            } else if (entry != null && !valid.test(entry.value())) {
+                entries.remove(key);
+            } else if (entry != null) {
+                value = entry.value();
+            }
+        }
+        (value == null ? misses : hits).incrementAndGet();
+        return value;
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new TimedValue<>(value,
+                    ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public CacheStatsDto stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+
+        return CacheStatsDto.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.get())
+                .expirations(expirations.get())
+                .hitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .build();
+    }
+
+    private record TimedValue<V>(V value, long expiresAt) {}
+}
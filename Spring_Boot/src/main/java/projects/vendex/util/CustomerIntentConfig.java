@@ -0,0 +1,30 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ml.intent")
+public class CustomerIntentConfig {
+
+    // Most relevant stock items sent to the LLM per message, instead of the whole catalog
+    private int maxCandidates = 20;
+
+    // Cached answers per normalized message; an entry is dropped after cacheTtlSec
+    private int cacheSize = 1000;
+    private int cacheTtlSec = 300;
+
+    // Timeout = observed p99 x multiplier, clamped to [minTimeoutMs, maxTimeoutMs]
+    private double timeoutMultiplier = 2.0;
+    private int minTimeoutMs = 2000;
+    private int maxTimeoutMs = 15000;
+
+    // Send a second request once the first has run past p95
+    private boolean hedgeEnabled = false;
+    private int hedgeMinDelayMs = 250;
+
+    // Hedges allowed as a share of intent calls (percent), so load never doubles
+    private double hedgeBudgetPercent = 10;
+}
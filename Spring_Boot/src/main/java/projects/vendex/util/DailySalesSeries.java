@@ -0,0 +1,68 @@
+package projects.vendex.util;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Dense daily sales window with zero-filled gaps, backed by a primitive array.
+ * A single instance is meant to be reused across SKUs: {@link #reset(LocalDate)}
+ * clears the buffer without reallocating it.
+ */
+public class DailySalesSeries {
+
+    private final double[] values;
+    private LocalDate start;
+    private int daysWithSales;
+
+    public DailySalesSeries(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Series length must be positive");
+        }
+        this.values = new double[days];
+    }
+
+    /**
+     * Starts a new window whose first day is {@code start}.
+     */
+    public DailySalesSeries reset(LocalDate start) {
+        Arrays.fill(values, 0.0);
+        this.start = start;
+        this.daysWithSales = 0;
+        return this;
+    }
+
+    /**
+     * Adds {@code quantity} to the given day; days outside the window are ignored.
+     */
+    public void add(LocalDate date, double quantity) {
+        long index = ChronoUnit.DAYS.between(start, date);
+        if (index < 0 || index >= values.length || quantity == 0) {
+            return;
+        }
+        if (values[(int) index] == 0) {
+            daysWithSales++;
+        }
+        values[(int) index] += quantity;
+    }
+
+    public boolean hasSales() {
+        return daysWithSales > 0;
+    }
+
+    public int length() {
+        return values.length;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Copy of the current window, oldest day first. The copy is what gets handed
+     * off, so the buffer can be reset for the next SKU straight away.
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+}
@@ -0,0 +1,9 @@
+package projects.vendex.util;
+
+import java.time.LocalDate;
+
+public interface DailySalesView {
+    String getSku();
+    LocalDate getSaleDate();
+    long getQuantity();
+}
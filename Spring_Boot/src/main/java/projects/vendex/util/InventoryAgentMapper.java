@@ -22,10 +22,12 @@ public interface InventoryAgentMapper {
             Product product
     );
 
+    @Mapping(target = "sku", source = "sku")
     @Mapping(target = "forecast", source = "forecast")
     @Mapping(target = "confidence", source = "confidence")
     @Mapping(target = "decision", source = "decision")
     ForecastAndDecisionResponseDto toForecastAndDecisionResponse(
+            String sku,
             int forecast,
             double confidence,
             Object decision
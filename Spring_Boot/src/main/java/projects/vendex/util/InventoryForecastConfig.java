@@ -0,0 +1,32 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "inventory.forecast")
+public class InventoryForecastConfig {
+
+    // "remote" calls the Python service, "local" runs the in-JVM ForecastEngine
+    private String engine = "remote";
+
+    // Max batches in flight against the ML service at once during a bulk run
+    private int concurrency = 8;
+
+    // SKUs sent per /api/forecast-and-decide/batch round trip
+    private int batchSize = 100;
+
+    // Max SKUs whose last forecast is kept in ForecastCacheService
+    private int cacheSize = 5000;
+
+    // Max lines per consolidated purchase order written at the end of a bulk run
+    private int poMaxItems = 50;
+
+    // Outcomes a bulk job replays to a subscriber that joins late
+    private int jobReplayLimit = 10000;
+
+    // Bulk jobs kept for polling; the oldest finished ones are dropped first
+    private int maxJobs = 20;
+}
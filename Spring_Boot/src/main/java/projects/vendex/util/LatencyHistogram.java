@@ -0,0 +1,165 @@
+package projects.vendex.util;
+
+import projects.vendex.dtos.LatencyHistogramDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-spaced millisecond buckets (~20% wide, so a
+ * percentile is off by at most one bucket). Percentiles cover the current and the
+ * previous window only, so they follow the service as it speeds up or slows down.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = buildBounds(120_000);
+
+    private final long windowMs;
+
+    private final AtomicLong totalCount = new AtomicLong();
+    private volatile Window current;
+    private volatile Window previous;
+
+    public LatencyHistogram(long windowMs) {
+        if (windowMs <= 0) {
+            throw new IllegalArgumentException("Histogram window must be positive");
+        }
+        this.windowMs = windowMs;
+        this.current = new Window(System.currentTimeMillis());
+        this.previous = new Window(current.startedAt);
+    }
+
+    public void record(long millis) {
+        rotateIfDue();
+        current.add(Math.max(0, millis));
+        totalCount.incrementAndGet();
+    }
+
+    /**
+     * Samples seen in the last one to two windows.
+     */
+    public long recentCount() {
+        rotateIfDue();
+        return current.count.get() + previous.count.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the q-quantile (0 < q <= 1), or -1 with no samples.
+     */
+    public long percentile(double q) {
+        return percentile(merged(), q);
+    }
+
+    public LatencyHistogramDto snapshot(String name) {
+        long[] counts = merged();
+        long count = Arrays.stream(counts).sum();
+
+        Map<Long, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                buckets.put(upperBound(i), counts[i]);
+            }
+        }
+
+        return LatencyHistogramDto.builder()
+                .endpoint(name)
+                .totalCount(totalCount.get())
+                .recentCount(count)
+                .meanMs(count == 0 ? 0 : (double) (current.sumMs.get() + previous.sumMs.get()) / count)
+                .p50Ms(percentile(counts, 0.50))
+                .p90Ms(percentile(counts, 0.90))
+                .p95Ms(percentile(counts, 0.95))
+                .p99Ms(percentile(counts, 0.99))
+                .maxMs(Math.max(current.maxMs.get(), previous.maxMs.get()))
+                .buckets(buckets)
+                .build();
+    }
+
+    private static long percentile(long[] counts, double q) {
+        long count = Arrays.stream(counts).sum();
+        if (count == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(q * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    private long[] merged() {
+        rotateIfDue();
+        Window now = current;
+        Window before = previous;
+        long[] counts = new long[BOUNDS_MS.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = now.buckets.get(i) + before.buckets.get(i);
+        }
+        return counts;
+    }
+
+    private void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - current.startedAt < windowMs) {
+            return;
+        }
+        synchronized (this) {
+            if (now - current.startedAt < windowMs) {
+                return;
+            }
+            // After a quiet spell longer than two windows, nothing recent is left
+            previous = now - current.startedAt < 2 * windowMs ? current : new Window(now);
+            current = new Window(now);
+        }
+    }
+
+    private static long upperBound(int bucket) {
+        // The overflow bucket reports the largest bound
+        return BOUNDS_MS[Math.min(bucket, BOUNDS_MS.length - 1)];
+    }
+
+    private static long[] buildBounds(long maxMs) {
+        List<Long> bounds = new ArrayList<>();
+        double bound = 1;
+        while (bound < maxMs) {
+            long rounded = Math.round(bound);
+            if (bounds.isEmpty() || rounded > bounds.getLast()) {
+                bounds.add(rounded);
+            }
+            bound *= 1.2;
+        }
+        bounds.add(maxMs);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static final class Window {
+
+        private final long startedAt;
+        // One slot per bound plus an overflow slot
+        private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length + 1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumMs = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        private Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void add(long millis) {
+            int index = Arrays.binarySearch(BOUNDS_MS, millis);
+            buckets.incrementAndGet(index >= 0 ? index : -index - 1);
+            count.incrementAndGet();
+            sumMs.addAndGet(millis);
+            maxMs.accumulateAndGet(millis, Math::max);
+        }
+    }
+}
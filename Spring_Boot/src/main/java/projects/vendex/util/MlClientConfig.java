@@ -0,0 +1,45 @@
+package projects.vendex.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ml.client")
+public class MlClientConfig {
+
+    // Python FastAPI service; http://python-backend:8000 inside docker-compose
+    private String baseUrl = "http://localhost:8000";
+
+    private int connectTimeoutMs = 2000;
+
+    // How long a caller may wait for a free pooled connection before failing fast
+    private int pendingAcquireTimeoutMs = 5000;
+
+    // Kept below uvicorn's 5s keep-alive so we never reuse a socket the server closed
+    private int maxIdleTimeMs = 4000;
+
+    private int maxLifeTimeSec = 300;
+
+    private int evictIntervalSec = 10;
+
+    // One pool per calling service, so a slow endpoint cannot starve the others
+    private Target inventory = new Target(16, 256, 30000, 2048);
+    private Target customer = new Target(64, 1024, 15000, 512);
+    private Target documents = new Target(16, 256, 60000, 16384);
+    private Target roster = new Target(8, 128, 5000, 512);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Target {
+        private int maxConnections;
+        private int pendingAcquireMaxCount;
+        private int responseTimeoutMs;
+        // Largest body decoded in memory; receipts are whole PDFs
+        private int maxInMemorySizeKb;
+    }
+}
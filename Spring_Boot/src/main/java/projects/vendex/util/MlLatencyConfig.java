@@ -0,0 +1,17 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ml.latency")
+public class MlLatencyConfig {
+
+    // Percentiles cover the last one to two windows of calls
+    private int windowSec = 60;
+
+    // Below this many recent samples, percentiles are not trusted and fixed limits apply
+    private int minSamples = 50;
+}
@@ -0,0 +1,37 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import projects.vendex.enums.IntegrationEndpoint;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ml.resilience")
+public class MlResilienceConfig {
+
+    // Breaker opens when this share of recent calls failed (percent)
+    private float failureRateThreshold = 50;
+
+    // ...or when this share of recent calls was slower than slowCallMs (percent)
+    private float slowCallRateThreshold = 80;
+    private int slowCallMs = 5000;
+
+    // Recent calls the rates are computed over, and the minimum before it can trip
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+
+    // How long an open breaker fails fast before letting probe calls through
+    private int openStateMs = 10000;
+    private int halfOpenCalls = 3;
+
+    // Per-endpoint bulkhead overrides; unset endpoints use IntegrationEndpoint defaults
+    private Map<IntegrationEndpoint, Integer> maxConcurrentCalls = new EnumMap<>(IntegrationEndpoint.class);
+
+    public int maxConcurrentCalls(IntegrationEndpoint endpoint) {
+        return maxConcurrentCalls.getOrDefault(endpoint, endpoint.getDefaultMaxConcurrentCalls());
+    }
+}
@@ -0,0 +1,6 @@
+package projects.vendex.util;
+
+public interface MovementTailView {
+    long getQuantity();
+    long getMovements();
+}
@@ -0,0 +1,179 @@
+package projects.vendex.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Small in-memory inverted index over product names, categories and SKUs.
+ * Terms are lower-cased, lightly stemmed words plus their prefixes, so "choc"
+ * finds "Chocolate" and "sku12" finds "SKU-1234". Scores are field weight x idf.
+ */
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int SKU_WEIGHT = 5;
+    private static final int PREFIX_WEIGHT = 1;
+    private static final int SKU_PREFIX_WEIGHT = 2;
+
+    private static final int MIN_WORD_PREFIX = 3;
+    private static final int MIN_SKU_PREFIX = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "do", "does", "you", "have", "has", "i", "im", "want", "need",
+            "some", "of", "for", "me", "is", "are", "any", "please", "price", "buy", "how",
+            "much", "many", "what", "can", "get", "to", "in", "and", "or", "with", "my",
+            "there", "it", "looking", "show", "find", "got", "your", "cost", "costs"
+    );
+
+    // term -> (sku -> best weight of that term for the sku)
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Set<String>> termsBySku = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(String sku, String name, String category) {
+        Map<String, Integer> terms = new HashMap<>();
+        addWordTerms(terms, name, NAME_WEIGHT);
+        addWordTerms(terms, category, CATEGORY_WEIGHT);
+        addSkuTerms(terms, sku);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(sku);
+            terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(sku, weight));
+            termsBySku.put(sku, terms.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String sku) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(sku);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsBySku.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Relevance score per matching SKU; SKUs that match no query term are absent.
+     */
+    public Map<String, Double> search(String text) {
+        List<String> queryTerms = queryTerms(text);
+        Map<String, Double> scores = new HashMap<>();
+        if (queryTerms.isEmpty()) {
+            return scores;
+        }
+
+        lock.readLock().lock();
+        try {
+            int documents = Math.max(1, termsBySku.size());
+            for (String term : queryTerms) {
+                Map<String, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (double) documents / matches.size());
+                matches.forEach((sku, weight) -> scores.merge(sku, weight * idf, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores;
+    }
+
+    /**
+     * Normalized, de-duplicated query terms: stemmed words without stop words, plus
+     * each whitespace chunk with punctuation removed (so "SKU-12" also matches as "sku12").
+     */
+    public static List<String> queryTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>(words(text));
+        if (text != null) {
+            for (String chunk : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+                String compact = chunk.replaceAll("[^a-z0-9]", "");
+                if (compact.length() >= MIN_SKU_PREFIX && !STOP_WORDS.contains(compact)) {
+                    terms.add(compact);
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+            if (!raw.isEmpty() && !STOP_WORDS.contains(raw)) {
+                words.add(stem(raw));
+            }
+        }
+        return words;
+    }
+
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static void addWordTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String word : words(text)) {
+            terms.merge(word, weight, Math::max);
+            for (int length = MIN_WORD_PREFIX; length < word.length(); length++) {
+                terms.merge(word.substring(0, length), PREFIX_WEIGHT, Math::max);
+            }
+        }
+    }
+
+    private static void addSkuTerms(Map<String, Integer> terms, String sku) {
+        String compact = sku.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        if (compact.isEmpty()) {
+            return;
+        }
+        terms.merge(compact, SKU_WEIGHT, Math::max);
+        for (int length = MIN_SKU_PREFIX; length < compact.length(); length++) {
+            terms.merge(compact.substring(0, length), SKU_PREFIX_WEIGHT, Math::max);
+        }
+    }
+
+    private void removeLocked(String sku) {
+        Set<String> terms = termsBySku.remove(sku);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(sku);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
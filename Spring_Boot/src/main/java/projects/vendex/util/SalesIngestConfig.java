@@ -0,0 +1,32 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sales.ingest")
+public class SalesIngestConfig {
+
+    // Max lines accepted by one POST demo/sales/batch
+    private int maxBatchLines = 5000;
+
+    // "direct" writes sales synchronously, "journal" acknowledges once they are in the local journal
+    private String mode = "direct";
+
+    // Distinct per instance; names this node's checkpoint row
+    private String journalId = "local";
+
+    private String journalDir = "./data/sales-journal";
+
+    private int segmentSizeMb = 64;
+
+    // msync each append before acknowledging; off trades a few ms of sales on power loss for latency
+    private boolean journalFsync = true;
+
+    private int flushIntervalMs = 200;
+
+    // Accepting stops (and POS retries) once this many lines are waiting for the database
+    private int maxPendingLines = 1_000_000;
+}
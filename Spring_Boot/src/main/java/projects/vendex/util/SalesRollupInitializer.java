@@ -0,0 +1,28 @@
+package projects.vendex.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import projects.vendex.services.SalesService;
+
+/**
+ * Backfills daily_sales_rollup on first start against a database that already has sales.
+ */
+@Slf4j
+@Component
+public class SalesRollupInitializer implements CommandLineRunner {
+
+    private final SalesService salesService;
+
+    public SalesRollupInitializer(SalesService salesService) {
+        this.salesService = salesService;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (salesService.isRollupMissing()) {
+            log.info("Daily sales rollup is empty, backfilling from sales");
+            salesService.rebuildDailyRollup();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stock.bulk")
+public class StockBulkConfig {
+
+    // Rows per JDBC batch and per import transaction
+    private int batchSize = 1000;
+
+    // Row errors listed in the import result; later ones are only counted
+    private int maxReportedErrors = 1000;
+
+    private int exportFetchSize = 1000;
+}
@@ -0,0 +1,25 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stock.ledger")
+public class StockLedgerConfig {
+
+    private boolean enabled = false;
+
+    // SKUs whose sales go through the in-memory ledger instead of locking their stock row
+    private List<String> hotSkus = new ArrayList<>();
+
+    // Lock stripes; sales on different stripes never wait on each other's consistency checks
+    private int stripes = 64;
+
+    // How often pending deltas are folded into stock.on_hand
+    private int reconcileIntervalMs = 250;
+}
@@ -0,0 +1,16 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stock.movements")
+public class StockMovementConfig {
+
+    private int snapshotIntervalMs = 60000;
+
+    // A SKU gets a new snapshot once this many movements follow its latest one
+    private int minTailMovements = 100;
+}
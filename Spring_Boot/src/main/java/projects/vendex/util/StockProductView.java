@@ -0,0 +1,8 @@
+package projects.vendex.util;
+
+public interface StockProductView {
+    String getSku();
+    String getProductName();
+    String getCategory();
+    int getOnHand();
+}
@@ -0,0 +1,22 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stock.reservation")
+public class StockReservationConfig {
+
+    // Hold lifetime when the request does not ask for one
+    private int defaultTtlSec = 600;
+
+    private int maxTtlSec = 3600;
+
+    // Expiry resolution; holds are released at most one tick late
+    private int tickMs = 100;
+
+    // One revolution covers wheelSlots * tickMs; longer holds just wait in their slot
+    private int wheelSlots = 1024;
+}
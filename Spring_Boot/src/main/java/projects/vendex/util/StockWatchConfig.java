@@ -0,0 +1,19 @@
+package projects.vendex.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "stock.watch")
+public class StockWatchConfig {
+
+    private int defaultThreshold = 10;
+
+    // Keeps idle streams open through proxies and notices clients that went away
+    private int heartbeatSec = 15;
+
+    // Events held for a slow subscriber before the oldest are dropped
+    private int subscriberBufferSize = 1000;
+}
@@ -0,0 +1,79 @@
+package projects.vendex.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: scheduling is O(1) and each tick only looks at one slot, so
+ * waiting timeouts cost nothing until their slot comes round. Timeouts further out
+ * than one revolution stay in their slot until the tick they are due. Resolution is
+ * one tick; a timeout fires on the first advance at or after its deadline.
+ *
+ * There is no cancel: callers check whether the item still needs expiring when it
+ * comes back from {@link #advance(long)}.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final List<List<Timeout<T>>> slots;
+
+    private long currentTick;
+    private int size;
+
+    private record Timeout<T>(T item, long dueTick) {
+    }
+
+    public TimerWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick and slot count must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized void schedule(T item, long deadlineMillis) {
+        // Never into a tick already processed, so the timeout cannot be missed
+        long dueTick = Math.max(currentTick + 1, Math.ceilDiv(deadlineMillis, tickMillis));
+        slots.get(slotOf(dueTick)).add(new Timeout<>(item, dueTick));
+        size++;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns everything that came due.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+        // After a long pause one full revolution still visits every slot
+        long from = Math.max(currentTick + 1, targetTick - slots.size() + 1);
+        List<T> expired = new ArrayList<>();
+        for (long tick = from; tick <= targetTick; tick++) {
+            Iterator<Timeout<T>> it = slots.get(slotOf(tick)).iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.dueTick() <= targetTick) {
+                    it.remove();
+                    expired.add(timeout.item());
+                    size--;
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+}
@@ -1,37 +1,77 @@
 package projects.vendex.util;
 
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebClientConfig {
 
+    private final MlClientConfig clientConfig;
+    private final WebClientPoolMetrics poolMetrics;
+
+    private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
     @Bean
     public WebClient inventoryMlWebClient() {
-        return WebClient.builder()
-                .baseUrl("http://localhost:8000")
-                .build();
+        return build("inventory-ml", clientConfig.getInventory());
     }
 
     @Bean
     public WebClient customerAgentWebClient() {
-        return WebClient.builder()
-                .baseUrl("http://localhost:8000")
-                .build();
+        return build("customer-agent", clientConfig.getCustomer());
     }
 
     @Bean
     public WebClient fastApiWebClient() {
-        return WebClient.builder()
-                .baseUrl("http://localhost:8000")
-                .build();
+        return build("fastapi-documents", clientConfig.getDocuments());
     }
 
     @Bean
     public WebClient mlWebClient() {
+        return build("roster-ml", clientConfig.getRoster());
+    }
+
+    private WebClient build(String name, MlClientConfig.Target target) {
+
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(target.getMaxConnections())
+                .pendingAcquireMaxCount(target.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(clientConfig.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(clientConfig.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofSeconds(clientConfig.getMaxLifeTimeSec()))
+                .evictInBackground(Duration.ofSeconds(clientConfig.getEvictIntervalSec()))
+                .metrics(true, () -> poolMetrics)
+                .build();
+        providers.add(provider);
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, clientConfig.getConnectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(Duration.ofMillis(target.getResponseTimeoutMs()));
+
         return WebClient.builder()
-                .baseUrl("http://localhost:8000")
+                .baseUrl(clientConfig.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize(target.getMaxInMemorySizeKb() * 1024))
                 .build();
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void disposePools() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+}
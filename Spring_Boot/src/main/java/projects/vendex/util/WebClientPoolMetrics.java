@@ -0,0 +1,61 @@
+package projects.vendex.util;
+
+import org.springframework.stereotype.Component;
+import projects.vendex.dtos.ConnectionPoolStatsDto;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the live pool gauges Reactor Netty hands out for each WebClient
+ * connection pool, one entry per pool and remote address.
+ */
+@Component
+public class WebClientPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, PoolEntry> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(
+            String poolName,
+            String id,
+            SocketAddress remoteAddress,
+            ConnectionPoolMetrics metrics
+    ) {
+        pools.put(key(poolName, id, remoteAddress),
+                new PoolEntry(poolName, String.valueOf(remoteAddress), metrics));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(key(poolName, id, remoteAddress));
+    }
+
+    public List<ConnectionPoolStatsDto> snapshot() {
+        return pools.values().stream()
+                .map(entry -> ConnectionPoolStatsDto.builder()
+                        .pool(entry.poolName())
+                        .remoteAddress(entry.remoteAddress())
+                        .acquired(entry.metrics().acquiredSize())
+                        .allocated(entry.metrics().allocatedSize())
+                        .idle(entry.metrics().idleSize())
+                        .pendingAcquire(entry.metrics().pendingAcquireSize())
+                        .maxConnections(entry.metrics().maxAllocatedSize())
+                        .maxPendingAcquire(entry.metrics().maxPendingAcquireSize())
+                        .build())
+                .sorted(Comparator.comparing(ConnectionPoolStatsDto::getPool))
+                .toList();
+    }
+
+    private static String key(String poolName, String id, SocketAddress remoteAddress) {
+        return poolName + "|" + id + "|" + remoteAddress;
+    }
+
+    private record PoolEntry(String poolName, String remoteAddress, ConnectionPoolMetrics metrics) {
+    }
+}
@@ -0,0 +1,128 @@
+package projects.vendex.providers;
+
+import org.junit.jupiter.api.Test;
+import projects.vendex.dtos.BatchForecastItemDto;
+import projects.vendex.dtos.BatchForecastResultDto;
+import projects.vendex.dtos.InventoryDecisionDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expected values come from running python/demand.py and python/decision.py on the
+ * same inputs, so a failure here means the two engines have drifted apart.
+ */
+class LocalForecastEngineTest {
+
+    private final LocalForecastEngine engine = new LocalForecastEngine();
+
+    @Test
+    void matchesDemandPyOnItsOwnExample() {
+        BatchForecastResultDto result = forecast(
+                new double[]{10, 12, 11, 15, 14, 13, 16, 18, 20, 19, 21, 23, 22, 25, 24}, 50, 15.0);
+
+        assertThat(result.getForecast()).isEqualTo(205);
+        assertThat(result.getConfidence()).isEqualTo(0.98);
+        assertThat(result.getDecision().getAction()).isEqualTo("REQUIRE_APPROVAL");
+        assertThat(result.getDecision().getQuantity()).isEqualTo(175);
+    }
+
+    @Test
+    void roundsHalvesToEvenLikePython() {
+        // Trend total is exactly 66.5; std dev / total gives 0.567
+        BatchForecastResultDto result = forecast(new double[]{0, 0, 0, 5}, 0, 1.0);
+
+        assertThat(result.getForecast()).isEqualTo(66);
+        assertThat(result.getConfidence()).isEqualTo(0.57);
+    }
+
+    @Test
+    void extrapolatesTrendsBelowZero() {
+        BatchForecastResultDto result = forecast(new double[]{3, 0, 0, 0, 0, 0, 0}, 0, 1.0);
+
+        assertThat(result.getForecast()).isEqualTo(-13);
+        assertThat(result.getConfidence()).isEqualTo(0.65);
+        assertThat(result.getDecision().getAction()).isEqualTo("NONE");
+    }
+
+    @Test
+    void floorsConfidenceAtHalfWithoutSales() {
+        BatchForecastResultDto result = forecast(new double[]{0, 0, 0}, 0, 1.0);
+
+        assertThat(result.getForecast()).isZero();
+        assertThat(result.getConfidence()).isEqualTo(0.5);
+    }
+
+    @Test
+    void flatHistoryForecastsTheSameRate() {
+        BatchForecastResultDto result = forecast(new double[]{5, 5}, 0, 1.0);
+
+        assertThat(result.getForecast()).isEqualTo(35);
+        assertThat(result.getConfidence()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsHistoriesShorterThanTwoDays() {
+        BatchForecastResultDto result = forecast(new double[]{4}, 0, 1.0);
+
+        assertThat(result.getError()).isEqualTo("sales_history must contain at least two data points");
+        assertThat(result.getDecision()).isNull();
+    }
+
+    @Test
+    void autoOrdersAtExactlyHighConfidenceWhenCheap() {
+        InventoryDecisionDto decision = engine.decide(20, 0.80, 0, 10.0);
+
+        assertThat(decision.getAction()).isEqualTo("AUTO_ORDER");
+        assertThat(decision.getQuantity()).isEqualTo(22);
+        assertThat(decision.getReason()).isEqualTo("High confidence (0.8) and low risk.");
+    }
+
+    @Test
+    void requiresApprovalBetweenMidAndHighConfidence() {
+        assertThat(engine.decide(20, 0.79, 0, 10.0).getAction()).isEqualTo("REQUIRE_APPROVAL");
+        assertThat(engine.decide(20, 0.60, 0, 10.0).getAction()).isEqualTo("REQUIRE_APPROVAL");
+        assertThat(engine.decide(20, 0.60, 0, 10.0).getQuantity()).isEqualTo(22);
+    }
+
+    @Test
+    void fallsBackToManualBelowMidConfidence() {
+        InventoryDecisionDto decision = engine.decide(20, 0.59, 0, 10.0);
+
+        assertThat(decision.getAction()).isEqualTo("FALLBACK_TO_MANUAL");
+        assertThat(decision.getQuantity()).isZero();
+    }
+
+    @Test
+    void ordersNothingWhenStockCoversForecastPlusBuffer() {
+        InventoryDecisionDto decision = engine.decide(100, 0.9, 111, 1.0);
+
+        assertThat(decision.getAction()).isEqualTo("NONE");
+        assertThat(decision.getQuantity()).isZero();
+    }
+
+    @Test
+    void keepsTheFirstResultForRepeatedSkus() {
+        BatchForecastItemDto first = item("A", new double[]{5, 5}, 0, 1.0);
+        BatchForecastItemDto second = item("A", new double[]{1, 2}, 0, 1.0);
+
+        assertThat(engine.forecastAndDecide(List.of(first, second)).block().get("A").getForecast())
+                .isEqualTo(35);
+    }
+
+    private BatchForecastResultDto forecast(double[] history, int currentStock, double unitCost) {
+        return engine.forecastAndDecide(List.of(item("SKU", history, currentStock, unitCost)))
+                .block()
+                .get("SKU");
+    }
+
+    private static BatchForecastItemDto item(String sku, double[] history, int currentStock, double unitCost) {
+        BatchForecastItemDto item = new BatchForecastItemDto();
+        item.setSku(sku);
+        item.setSalesHistory(history);
+        item.setCurrentStock(currentStock);
+        item.setUnitCost(unitCost);
+        return item;
+    }
+}
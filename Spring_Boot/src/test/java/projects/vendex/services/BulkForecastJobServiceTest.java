@@ -0,0 +1,41 @@
+package projects.vendex.services;
+
+import org.junit.jupiter.api.Test;
+import projects.vendex.dtos.BulkForecastJobDto;
+import projects.vendex.dtos.BulkForecastOutcomeDto;
+import projects.vendex.enums.BulkForecastJobStatus;
+import projects.vendex.exceptions.ConflictException;
+import projects.vendex.util.InventoryForecastConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkForecastJobServiceTest {
+
+    private final InventoryAgentService inventoryAgentService = mock(InventoryAgentService.class);
+    private final BulkForecastJobService service = new BulkForecastJobService(
+            inventoryAgentService, new InventoryForecastConfig(), Schedulers.immediate());
+
+    @Test
+    void refusesASecondJobWhileOneIsRunning() {
+        Sinks.Empty<Void> finish = Sinks.empty();
+        when(inventoryAgentService.bulkForecastOutcomes())
+                .thenReturn(finish.asMono().thenMany(Flux.<BulkForecastOutcomeDto>empty()));
+
+        BulkForecastJobDto running = service.submit();
+
+        assertThatThrownBy(service::submit)
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining(running.getJobId());
+
+        finish.tryEmitEmpty();
+
+        assertThat(service.getJob(running.getJobId()).getStatus()).isEqualTo(BulkForecastJobStatus.COMPLETED);
+        assertThat(service.submit().getJobId()).isNotEqualTo(running.getJobId());
+    }
+}
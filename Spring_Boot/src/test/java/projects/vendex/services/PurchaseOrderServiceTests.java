@@ -0,0 +1,85 @@
+package projects.vendex.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import projects.vendex.entities.PurchaseOrder;
+import projects.vendex.entities.PurchaseOrderItem;
+import projects.vendex.entities.Stock;
+import projects.vendex.enums.PurchaseOrderStatus;
+import projects.vendex.repositories.PurchaseOrderRepository;
+import projects.vendex.repositories.StockRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the configured database like {@code VendexTests}; every test rolls
+ * back. Both SKUs are hot, so receipts go through the stock ledger.
+ */
+@SpringBootTest(properties = {
+        "stock.ledger.enabled=true",
+        "stock.ledger.hot-skus=IT-HOT-A,IT-HOT-B"
+})
+@Transactional
+class PurchaseOrderServiceTests {
+
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void receivesAnOrderWithSeveralHotSkus() {
+        stock("IT-HOT-A", 2);
+        stock("IT-HOT-B", 5);
+        PurchaseOrder po = sentOrder(item("IT-HOT-B", 10), item("IT-HOT-A", 4));
+
+        PurchaseOrder received = purchaseOrderService.markReceived(po.getId());
+
+        assertThat(received.getStatus()).isEqualTo(PurchaseOrderStatus.RECEIVED);
+        assertThat(onHand("IT-HOT-A")).isEqualTo(6);
+        assertThat(onHand("IT-HOT-B")).isEqualTo(15);
+    }
+
+    private PurchaseOrder sentOrder(PurchaseOrderItem... items) {
+        PurchaseOrder po = PurchaseOrder.builder()
+                .status(PurchaseOrderStatus.SENT_TO_MANUFACTURER)
+                .createdAt(LocalDateTime.now())
+                .sentAt(LocalDateTime.now())
+                .items(new ArrayList<>(List.of(items)))
+                .build();
+        for (PurchaseOrderItem item : items) {
+            item.setPurchaseOrder(po);
+        }
+        return purchaseOrderRepository.saveAndFlush(po);
+    }
+
+    private static PurchaseOrderItem item(String sku, int quantity) {
+        PurchaseOrderItem item = new PurchaseOrderItem();
+        item.setSku(sku);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private void stock(String sku, int onHand) {
+        stockRepository.saveAndFlush(Stock.builder().sku(sku).onHand(onHand).lastUpdated(LocalDate.now()).build());
+    }
+
+    private int onHand(String sku) {
+        return jdbcTemplate.queryForObject("SELECT on_hand FROM stock WHERE sku = ?", Integer.class, sku);
+    }
+}
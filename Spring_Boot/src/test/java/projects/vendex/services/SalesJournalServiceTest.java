@@ -0,0 +1,189 @@
+package projects.vendex.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import projects.vendex.dtos.SaleLineResultDto;
+import projects.vendex.dtos.SalesBatchResultDto;
+import projects.vendex.dtos.StockAvailabilityDto;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.enums.SaleLineStatus;
+import projects.vendex.util.SalesIngestConfig;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SalesJournalServiceTest {
+
+    // [int length][long seq][short skuLength]["A"][int quantity][long epochDay][int crc]
+    private static final int RECORD_BYTES = 31;
+
+    @TempDir
+    Path directory;
+
+    private final SalesService salesService = mock(SalesService.class);
+    private final StockReservationService reservations = mock(StockReservationService.class);
+    private final List<List<Long>> flushedSeqs = Collections.synchronizedList(new ArrayList<>());
+    private final List<SalesJournalService> journals = new ArrayList<>();
+
+    private long checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        when(salesService.getJournalCheckpoint(anyString())).thenAnswer(invocation -> checkpoint);
+        when(reservations.getAvailability(anyString())).thenAnswer(invocation -> StockAvailabilityDto.builder()
+                .sku(invocation.getArgument(0))
+                .available(1_000_000)
+                .build());
+        when(salesService.recordJournalBatch(eq("local"), anyList(), anyList())).thenAnswer(invocation -> {
+            List<Long> seqs = invocation.getArgument(1);
+            flushedSeqs.add(List.copyOf(seqs));
+            return accepted(seqs.size());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(SalesJournalService::stop);
+    }
+
+    @Test
+    void replaysOnlyLinesPastTheCheckpoint() throws IOException {
+        SalesJournalService first = start();
+        first.append(sales(3));
+
+        // Restart without flushing, as after a crash, with line 1 already in the database
+        checkpoint = 1;
+        SalesJournalService second = start();
+
+        assertThat(second.getStats().getPendingLines()).isEqualTo(2);
+        assertThat(second.getStats().getAppendedSeq()).isEqualTo(3);
+
+        second.flushSafely();
+
+        assertThat(flushedSeqs).containsExactly(List.of(2L, 3L));
+        assertThat(second.getStats().getFlushedSeq()).isEqualTo(3);
+    }
+
+    @Test
+    void wipesATornTailAndContinuesAfterTheLastGoodRecord() throws IOException {
+        SalesJournalService first = start();
+        first.append(sales(2));
+
+        // Corrupt the second record's CRC
+        Path segment = onlySegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long crcByte = 2L * RECORD_BYTES - 1;
+            file.seek(crcByte);
+            int value = file.read();
+            file.seek(crcByte);
+            file.write(value ^ 0xFF);
+        }
+
+        SalesJournalService second = start();
+
+        assertThat(second.getStats().getPendingLines()).isEqualTo(1);
+        assertThat(second.getStats().getAppendedSeq()).isEqualTo(1);
+        byte[] bytes = Files.readAllBytes(segment);
+        for (int i = RECORD_BYTES; i < 2 * RECORD_BYTES; i++) {
+            assertThat(bytes[i]).isZero();
+        }
+
+        second.append(sales(1));
+        second.flushSafely();
+
+        assertThat(flushedSeqs).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void rollsSegmentsAndDeletesThemOnceFlushed() throws IOException {
+        SalesJournalService journal = start();
+        // One 1 MB segment holds about 33,800 of these records
+        for (int i = 0; i < 7; i++) {
+            journal.append(sales(5_000));
+        }
+
+        assertThat(segments()).hasSize(2);
+        assertThat(journal.getStats().getSegments()).isEqualTo(2);
+
+        journal.flushSafely();
+
+        assertThat(flushedSeqs).hasSize(7);
+        assertThat(journal.getStats().getPendingLines()).isZero();
+        assertThat(segments()).hasSize(1);
+        assertThat(journal.getStats().getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsLinesBeyondAvailableStockBeforeAcknowledging() throws IOException {
+        when(reservations.getAvailability("A")).thenReturn(StockAvailabilityDto.builder().sku("A").available(3).build());
+        SalesJournalService journal = start();
+
+        SalesBatchResultDto first = journal.append(sales(2));
+        SalesBatchResultDto second = journal.append(sales(2));
+
+        assertThat(first.getLines()).extracting(SaleLineResultDto::getStatus)
+                .containsExactly(SaleLineStatus.QUEUED, SaleLineStatus.QUEUED);
+        // Two units are already queued, so only one more fits
+        assertThat(second.getLines()).extracting(SaleLineResultDto::getStatus)
+                .containsExactly(SaleLineStatus.QUEUED, SaleLineStatus.REJECTED);
+    }
+
+    private SalesJournalService start() throws IOException {
+        SalesIngestConfig config = new SalesIngestConfig();
+        config.setMode("journal");
+        config.setJournalDir(directory.toString());
+        config.setSegmentSizeMb(1);
+        config.setJournalFsync(false);
+        // Flushes only when a test asks for one
+        config.setFlushIntervalMs(3_600_000);
+
+        SalesJournalService journal = new SalesJournalService(salesService, reservations, config);
+        journal.start();
+        journals.add(journal);
+        return journal;
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertThat(segments).hasSize(1);
+        return segments.getFirst();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<SalesRecord> sales(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> SalesRecord.builder().sku("A").quantitySold(1).saleDate(LocalDate.now()).build())
+                .toList();
+    }
+
+    private static SalesBatchResultDto accepted(int lines) {
+        return SalesBatchResultDto.builder()
+                .accepted(lines)
+                .lines(IntStream.range(0, lines)
+                        .mapToObj(i -> SaleLineResultDto.builder().line(i).status(SaleLineStatus.ACCEPTED).build())
+                        .toList())
+                .build();
+    }
+}
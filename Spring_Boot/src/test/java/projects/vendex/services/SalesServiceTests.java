@@ -0,0 +1,196 @@
+package projects.vendex.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import projects.vendex.dtos.SaleLineResultDto;
+import projects.vendex.dtos.SalesBatchResultDto;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.entities.Stock;
+import projects.vendex.enums.SaleLineStatus;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.repositories.StockRepository;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the configured database like {@code VendexTests}; every test rolls
+ * back. The SKUs are test-only, so none of them is a configured hot SKU.
+ */
+@SpringBootTest
+@Transactional
+class SalesServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void decrementsOnlyWhenEnoughStockIsLeftAboveTheFloor() {
+        stock("IT-DEC-1", 10);
+
+        assertThat(stockRepository.decrementIfAvailable("IT-DEC-1", 4, 0, TODAY)).isEqualTo(1);
+        assertThat(onHand("IT-DEC-1")).isEqualTo(6);
+
+        assertThat(stockRepository.decrementIfAvailable("IT-DEC-1", 7, 0, TODAY)).isZero();
+        assertThat(stockRepository.decrementIfAvailable("IT-DEC-1", 5, 2, TODAY)).isZero();
+        assertThat(onHand("IT-DEC-1")).isEqualTo(6);
+
+        assertThat(stockRepository.decrementIfAvailable("IT-DEC-1", 6, 0, TODAY)).isEqualTo(1);
+        assertThat(onHand("IT-DEC-1")).isZero();
+    }
+
+    @Test
+    void decrementMatchesNoRowForUnknownSku() {
+        assertThat(stockRepository.decrementIfAvailable("IT-DEC-MISSING", 1, 0, TODAY)).isZero();
+    }
+
+    @Test
+    void recordSaleTakesStockOrRejects() {
+        stock("IT-DEC-2", 3);
+
+        salesService.recordSale(sale("IT-DEC-2", 2));
+        assertThat(onHand("IT-DEC-2")).isEqualTo(1);
+
+        assertThatThrownBy(() -> salesService.recordSale(sale("IT-DEC-2", 2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Low Stock. Unable to process request");
+        assertThatThrownBy(() -> salesService.recordSale(sale("IT-DEC-MISSING", 1)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void batchAcceptsLinesInOrderWhileStockLasts() {
+        stock("IT-BATCH-1", 5);
+        stock("IT-BATCH-2", 1);
+
+        SalesBatchResultDto result = salesService.recordSales(List.of(
+                sale("IT-BATCH-1", 3),
+                sale("IT-BATCH-1", 3),
+                sale("IT-BATCH-2", 1),
+                sale("IT-BATCH-1", 2),
+                sale("IT-BATCH-1", 0),
+                sale("IT-BATCH-MISSING", 1)
+        ));
+
+        assertThat(result.getAccepted()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getLines()).extracting(SaleLineResultDto::getStatus).containsExactly(
+                SaleLineStatus.ACCEPTED,
+                SaleLineStatus.REJECTED,
+                SaleLineStatus.ACCEPTED,
+                SaleLineStatus.ACCEPTED,
+                SaleLineStatus.REJECTED,
+                SaleLineStatus.REJECTED
+        );
+        assertThat(result.getLines()).extracting(SaleLineResultDto::getMessage).containsExactly(
+                null,
+                "Low Stock. Unable to process request",
+                null,
+                null,
+                "Quantity must be positive",
+                "Stock unavailable"
+        );
+
+        assertThat(onHand("IT-BATCH-1")).isZero();
+        assertThat(onHand("IT-BATCH-2")).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sales WHERE sku = ?", Integer.class, "IT-BATCH-1")).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT quantity FROM daily_sales_rollup WHERE sku = ? AND sale_date = ?",
+                Long.class, "IT-BATCH-1", TODAY)).isEqualTo(5);
+    }
+
+    @Test
+    void batchRejectsANullLineOnItsOwn() {
+        stock("IT-BATCH-4", 2);
+
+        SalesBatchResultDto result = salesService.recordSales(Arrays.asList(null, sale("IT-BATCH-4", 2)));
+
+        assertThat(result.getLines()).extracting(SaleLineResultDto::getStatus).containsExactly(
+                SaleLineStatus.REJECTED,
+                SaleLineStatus.ACCEPTED
+        );
+        assertThat(result.getLines().getFirst().getMessage()).isEqualTo("Sale line is required");
+        assertThat(onHand("IT-BATCH-4")).isZero();
+    }
+
+    @Test
+    void batchWithNothingValidWritesNothing() {
+        stock("IT-BATCH-3", 1);
+
+        SalesBatchResultDto result = salesService.recordSales(List.of(sale("IT-BATCH-3", 2)));
+
+        assertThat(result.getAccepted()).isZero();
+        assertThat(onHand("IT-BATCH-3")).isEqualTo(1);
+    }
+
+    @Test
+    void journalFlushKeepsRejectedLinesAsDeadLetters() {
+        stock("IT-JOURNAL-1", 1);
+
+        SalesBatchResultDto result = salesService.recordJournalBatch("it-journal", List.of(11L, 12L), List.of(
+                sale("IT-JOURNAL-1", 1),
+                sale("IT-JOURNAL-1", 1)
+        ));
+
+        assertThat(result.getLines()).extracting(SaleLineResultDto::getStatus)
+                .containsExactly(SaleLineStatus.ACCEPTED, SaleLineStatus.REJECTED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT seq FROM sales_dead_letters WHERE journal_id = ? AND sku = ?",
+                Long.class, "it-journal", "IT-JOURNAL-1")).isEqualTo(12L);
+        assertThat(salesService.getJournalCheckpoint("it-journal")).isEqualTo(12L);
+    }
+
+    @Test
+    void journalFlushSkipsLinesAtOrBelowTheCheckpointAndNeverLowersIt() {
+        stock("IT-JOURNAL-2", 10);
+        salesService.recordJournalBatch("it-journal", List.of(1L, 2L), List.of(
+                sale("IT-JOURNAL-2", 1),
+                sale("IT-JOURNAL-2", 1)
+        ));
+
+        // A second flush of an overlapping slice writes only the new line
+        SalesBatchResultDto result = salesService.recordJournalBatch("it-journal", List.of(2L, 3L), List.of(
+                sale("IT-JOURNAL-2", 1),
+                sale("IT-JOURNAL-2", 1)
+        ));
+
+        assertThat(result.getLines()).extracting(SaleLineResultDto::getLine).containsExactly(1);
+        assertThat(onHand("IT-JOURNAL-2")).isEqualTo(7);
+
+        SalesBatchResultDto stale = salesService.recordJournalBatch("it-journal", List.of(1L), List.of(
+                sale("IT-JOURNAL-2", 1)
+        ));
+
+        assertThat(stale.getLines()).isEmpty();
+        assertThat(onHand("IT-JOURNAL-2")).isEqualTo(7);
+        assertThat(salesService.getJournalCheckpoint("it-journal")).isEqualTo(3L);
+    }
+
+    private void stock(String sku, int onHand) {
+        stockRepository.saveAndFlush(Stock.builder().sku(sku).onHand(onHand).lastUpdated(TODAY).build());
+    }
+
+    private int onHand(String sku) {
+        return jdbcTemplate.queryForObject("SELECT on_hand FROM stock WHERE sku = ?", Integer.class, sku);
+    }
+
+    private static SalesRecord sale(String sku, int quantity) {
+        return SalesRecord.builder().sku(sku).quantitySold(quantity).saleDate(TODAY).build();
+    }
+}
@@ -0,0 +1,110 @@
+package projects.vendex.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import projects.vendex.dtos.StockLevelDto;
+import projects.vendex.entities.Stock;
+import projects.vendex.enums.StockMovementType;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.repositories.StockRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the configured database like {@code VendexTests}; every test rolls
+ * back. The test transaction is never below its own snapshot horizon, so its
+ * movements are covered by the snapshots it takes.
+ */
+@SpringBootTest(properties = "stock.movements.min-tail-movements=2")
+@Transactional
+class StockMovementServiceTests {
+
+    @Autowired
+    private StockMovementService stockMovementService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rollsTheLatestSnapshotForwardOverFinishedMovements() {
+        stock("IT-MOV-A", 10);
+        stockMovementService.takeBaselines();
+
+        stockMovementService.record("IT-MOV-A", StockMovementType.RECEIPT, 5);
+        stockMovementService.record("IT-MOV-A", StockMovementType.SALE, -3);
+        stockMovementService.takeSnapshots();
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT level FROM stock_snapshots WHERE sku = ?
+                ORDER BY txid_horizon DESC LIMIT 1
+                """, Long.class, "IT-MOV-A")).isEqualTo(12);
+
+        stockMovementService.record("IT-MOV-A", StockMovementType.SALE, -2);
+        StockLevelDto level = stockMovementService.getLevel("IT-MOV-A", null);
+
+        assertThat(level.getLevel()).isEqualTo(10);
+        assertThat(level.getSnapshotLevel()).isEqualTo(12);
+        assertThat(level.getTailMovements()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsATailTooShortToSnapshot() {
+        stock("IT-MOV-B", 4);
+        stockMovementService.takeBaselines();
+
+        stockMovementService.record("IT-MOV-B", StockMovementType.SALE, -1);
+        stockMovementService.takeSnapshots();
+
+        StockLevelDto level = stockMovementService.getLevel("IT-MOV-B", null);
+        assertThat(level.getLevel()).isEqualTo(3);
+        assertThat(level.getSnapshotLevel()).isEqualTo(4);
+        assertThat(level.getTailMovements()).isEqualTo(1);
+    }
+
+    @Test
+    void baselineAnswersQueriesFromTheFirstMovementOn() {
+        LocalDateTime now = LocalDateTime.now();
+        stock("IT-MOV-C", 7);
+        movement("IT-MOV-C", 7, now.minusDays(2));
+        stockMovementService.takeBaselines();
+
+        assertThat(stockMovementService.getLevel("IT-MOV-C", now.minusDays(1)).getLevel()).isEqualTo(7);
+        assertThatThrownBy(() -> stockMovementService.getLevel("IT-MOV-C", now.minusDays(3)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void sumsHistoryForASkuWithoutABaseline() {
+        LocalDateTime now = LocalDateTime.now();
+        movement("IT-MOV-D", 6, now.minusHours(2));
+        movement("IT-MOV-D", -2, now.minusHours(1));
+
+        StockLevelDto level = stockMovementService.getLevel("IT-MOV-D", now.minusMinutes(90));
+
+        assertThat(level.getLevel()).isEqualTo(6);
+        assertThat(level.getTailMovements()).isEqualTo(1);
+    }
+
+    private void stock(String sku, int onHand) {
+        stockRepository.saveAndFlush(Stock.builder().sku(sku).onHand(onHand).lastUpdated(LocalDate.now()).build());
+    }
+
+    // Written directly so the movement can lie in the past
+    private void movement(String sku, int quantity, LocalDateTime occurredAt) {
+        jdbcTemplate.update("""
+                INSERT INTO stock_movements (sku, type, quantity, occurred_at)
+                VALUES (?, ?, ?, ?)
+                """, sku, quantity > 0 ? StockMovementType.RECEIPT.name() : StockMovementType.SALE.name(),
+                quantity, occurredAt);
+    }
+}
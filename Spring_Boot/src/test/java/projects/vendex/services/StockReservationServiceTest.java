@@ -0,0 +1,148 @@
+package projects.vendex.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projects.vendex.dtos.StockAvailabilityDto;
+import projects.vendex.dtos.StockReservationDto;
+import projects.vendex.dtos.StockReservationRequestDto;
+import projects.vendex.entities.SalesRecord;
+import projects.vendex.enums.ReservationStatus;
+import projects.vendex.exceptions.NotFoundException;
+import projects.vendex.util.StockReservationConfig;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockReservationServiceTest {
+
+    private final StockSnapshotService stockSnapshotService = mock(StockSnapshotService.class);
+    private final StockLedgerService stockLedgerService = mock(StockLedgerService.class);
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        StockReservationConfig config = new StockReservationConfig();
+        config.setTickMs(10);
+        config.setWheelSlots(16);
+        service = new StockReservationService(stockSnapshotService, stockLedgerService, config);
+
+        when(stockSnapshotService.get("A")).thenReturn(new StockSnapshotService.Item("A", "Apple", "Fruit", 10));
+        when(stockLedgerService.handles("HOT")).thenReturn(true);
+        when(stockLedgerService.getAvailable("HOT")).thenReturn(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void rejectsAHoldBeyondAvailable() {
+        service.reserve(request("A", 8, null));
+
+        assertThatThrownBy(() -> service.reserve(request("A", 3, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getReserved("A")).isEqualTo(8);
+        assertThat(service.getStats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void commitReleasesTheHoldEvenWhenTheSaleFails() {
+        StockReservationDto hold = service.reserve(request("A", 4, null));
+
+        assertThatThrownBy(() -> service.commit(hold.getId(), sale -> {
+            throw new IllegalStateException("write failed");
+        })).hasMessage("write failed");
+
+        assertThat(service.getReserved("A")).isZero();
+        assertThat(service.getStats().getReleased()).isEqualTo(1);
+        assertThatThrownBy(() -> service.get(hold.getId())).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void commitHandsTheHoldToTheRecorder() {
+        StockReservationDto hold = service.reserve(request("A", 4, null));
+
+        SalesRecord saved = service.commit(hold.getId(), sale -> {
+            assertThat(service.getReserved("A")).isEqualTo(4);
+            return sale;
+        });
+
+        assertThat(saved.getSku()).isEqualTo("A");
+        assertThat(saved.getQuantitySold()).isEqualTo(4);
+        assertThat(service.getReserved("A")).isZero();
+    }
+
+    @Test
+    void expiryDoesNotReturnAReleasedHoldTwice() throws InterruptedException {
+        service.start();
+        StockReservationDto hold = service.reserve(request("A", 5, 1));
+
+        assertThat(service.release(hold.getId()).getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        awaitUntil(() -> service.getStats().getPendingTimeouts() == 0);
+
+        assertThat(service.getReserved("A")).isZero();
+        assertThat(service.getStats().getExpired()).isZero();
+    }
+
+    @Test
+    void anExpiredHoldCanNoLongerBeReleasedOrCommitted() throws InterruptedException {
+        service.start();
+        StockReservationDto hold = service.reserve(request("A", 5, 1));
+
+        awaitUntil(() -> service.getStats().getExpired() == 1);
+
+        assertThatThrownBy(() -> service.release(hold.getId())).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> service.commit(hold.getId(), sale -> sale)).isInstanceOf(NotFoundException.class);
+        assertThat(service.getReserved("A")).isZero();
+    }
+
+    @Test
+    void availabilityComesFromTheSnapshotForColdSkus() {
+        service.reserve(request("A", 3, null));
+
+        StockAvailabilityDto availability = service.getAvailability("A");
+
+        assertThat(availability.getOnHand()).isEqualTo(10);
+        assertThat(availability.getReserved()).isEqualTo(3);
+        assertThat(availability.getAvailable()).isEqualTo(7);
+    }
+
+    @Test
+    void availabilityComesFromTheLedgerForHotSkus() {
+        service.reserve(request("HOT", 2, null));
+
+        StockAvailabilityDto availability = service.getAvailability("HOT");
+
+        assertThat(availability.getOnHand()).isEqualTo(7);
+        assertThat(availability.getReserved()).isEqualTo(2);
+        assertThat(availability.getAvailable()).isEqualTo(5);
+    }
+
+    @Test
+    void availabilityOfAnUnknownSkuIsNotFound() {
+        assertThatThrownBy(() -> service.getAvailability("MISSING")).isInstanceOf(NotFoundException.class);
+    }
+
+    private static StockReservationRequestDto request(String sku, int quantity, Integer ttlSeconds) {
+        StockReservationRequestDto request = new StockReservationRequestDto();
+        request.setSku(sku);
+        request.setQuantity(quantity);
+        request.setBasketId("basket-1");
+        request.setTtlSeconds(ttlSeconds);
+        return request;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package projects.vendex.util;
+
+import org.junit.jupiter.api.Test;
+import projects.vendex.dtos.CacheStatsDto;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // Reading "a" makes "b" the eldest
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTtl() throws InterruptedException {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMillis(50));
+        cache.put("a", 1);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        Thread.sleep(80);
+
+        assertThat(cache.get("a")).isNull();
+        CacheStatsDto stats = cache.stats();
+        assertThat(stats.getExpirations()).isEqualTo(1);
+        assertThat(stats.getSize()).isZero();
+    }
+
+    @Test
+    void putRestartsTheTtl() throws InterruptedException {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMillis(200));
+        cache.put("a", 1);
+
+        Thread.sleep(120);
+        cache.put("a", 2);
+        Thread.sleep(120);
+
+        assertThat(cache.get("a")).isEqualTo(2);
+    }
+
+    @Test
+    void dropsEntriesThatFailValidation() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        cache.put("a", 1);
+
+        assertThat(cache.getIf("a", value -> value > 1)).isNull();
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        cache.put("a", 1);
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        CacheStatsDto stats = cache.stats();
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void invalidateAndClearRemoveEntries() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isNull();
+
+        cache.clear();
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThatThrownBy(() -> new BoundedCache<String, Integer>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedCache<String, Integer>(1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package projects.vendex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvCodecTest {
+
+    @Test
+    void splitsPlainFieldsAndTrimsThem() {
+        assertThat(CsvCodec.parse("SKU-1, Milk ,12")).containsExactly("SKU-1", "Milk", "12");
+        assertThat(CsvCodec.parse("a,,")).containsExactly("a", "", "");
+    }
+
+    @Test
+    void unquotesCommasDoubledQuotesAndLineBreaks() {
+        assertThat(CsvCodec.parse("\"Milk, 1L\",\"say \"\"hi\"\"\",\"two\nlines\""))
+                .containsExactly("Milk, 1L", "say \"hi\"", "two\nlines");
+    }
+
+    @Test
+    void treatsQuotesInsideAFieldAsText() {
+        assertThat(CsvCodec.parse("TV 12\" screen,5")).containsExactly("TV 12\" screen", "5");
+    }
+
+    @Test
+    void escapesOnlyWhenNeeded() {
+        assertThat(CsvCodec.escape("plain")).isEqualTo("plain");
+        assertThat(CsvCodec.escape(12.5)).isEqualTo("12.5");
+        assertThat(CsvCodec.escape(null)).isEmpty();
+        assertThat(CsvCodec.escape("a,b")).isEqualTo("\"a,b\"");
+        assertThat(CsvCodec.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(CsvCodec.escape("two\r\nlines")).isEqualTo("\"two\r\nlines\"");
+    }
+
+    @Test
+    void escapedRecordsParseBackToTheSameValues() {
+        List<String> values = List.of("SKU-1", "Milk, 1L", "say \"hi\"", "two\nlines", "", "TV 12\" screen");
+
+        String record = values.stream().map(CsvCodec::escape).collect(Collectors.joining(","));
+
+        assertThat(CsvCodec.isComplete(record)).isTrue();
+        assertThat(CsvCodec.parse(record)).containsExactlyElementsOf(values);
+    }
+
+    @Test
+    void recordIsIncompleteWhileAQuotedFieldIsOpen() {
+        assertThat(CsvCodec.isComplete("SKU-1,\"first line")).isFalse();
+        assertThat(CsvCodec.isComplete("SKU-1,\"first line\nsecond line\",3")).isTrue();
+        assertThat(CsvCodec.isComplete("SKU-1,\"say \"\"hi")).isFalse();
+    }
+
+    @Test
+    void bareQuoteMidFieldDoesNotOpenARecord() {
+        assertThat(CsvCodec.isComplete("SKU-1,TV 12\" screen,5")).isTrue();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        assertThatThrownBy(() -> CsvCodec.parse("\"open")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
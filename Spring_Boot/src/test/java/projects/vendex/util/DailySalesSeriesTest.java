@@ -0,0 +1,83 @@
+package projects.vendex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DailySalesSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void fillsDaysWithoutSalesWithZero() {
+        DailySalesSeries series = new DailySalesSeries(5).reset(START);
+
+        series.add(START.plusDays(1), 3);
+        series.add(START.plusDays(3), 2);
+
+        assertThat(series.toArray()).containsExactly(0, 3, 0, 2, 0);
+        assertThat(series.hasSales()).isTrue();
+    }
+
+    @Test
+    void sumsSalesOnTheSameDay() {
+        DailySalesSeries series = new DailySalesSeries(3).reset(START);
+
+        series.add(START, 1);
+        series.add(START, 4);
+
+        assertThat(series.toArray()).containsExactly(5, 0, 0);
+    }
+
+    @Test
+    void keepsBothWindowEdgesAndIgnoresDaysOutside() {
+        DailySalesSeries series = new DailySalesSeries(3).reset(START);
+
+        series.add(START.minusDays(1), 7);
+        series.add(START, 1);
+        series.add(START.plusDays(2), 2);
+        series.add(START.plusDays(3), 9);
+
+        assertThat(series.toArray()).containsExactly(1, 0, 2);
+    }
+
+    @Test
+    void resetClearsThePreviousSku() {
+        DailySalesSeries series = new DailySalesSeries(3).reset(START);
+        series.add(START, 4);
+
+        series.reset(START.plusDays(10));
+
+        assertThat(series.toArray()).containsExactly(0, 0, 0);
+        assertThat(series.hasSales()).isFalse();
+        assertThat(series.getStart()).isEqualTo(START.plusDays(10));
+    }
+
+    @Test
+    void zeroQuantitiesDoNotCountAsSales() {
+        DailySalesSeries series = new DailySalesSeries(3).reset(START);
+
+        series.add(START, 0);
+
+        assertThat(series.hasSales()).isFalse();
+    }
+
+    @Test
+    void toArrayIsACopy() {
+        DailySalesSeries series = new DailySalesSeries(2).reset(START);
+        series.add(START, 1);
+
+        double[] copy = series.toArray();
+        series.reset(START);
+
+        assertThat(copy).containsExactly(1, 0);
+    }
+
+    @Test
+    void rejectsEmptyWindow() {
+        assertThatThrownBy(() -> new DailySalesSeries(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
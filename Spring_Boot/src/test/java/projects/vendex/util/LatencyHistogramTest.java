@@ -0,0 +1,86 @@
+package projects.vendex.util;
+
+import org.junit.jupiter.api.Test;
+import projects.vendex.dtos.LatencyHistogramDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LatencyHistogramTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void reportsNoPercentileWithoutSamples() {
+        assertThat(new LatencyHistogram(MINUTE).percentile(0.5)).isEqualTo(-1);
+    }
+
+    @Test
+    void percentilesReportTheUpperBoundOfTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram(MINUTE);
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(millis);
+        }
+
+        // Buckets around here are (46, 55], (79, 95] and (95, 114]
+        assertThat(histogram.percentile(0.50)).isEqualTo(55);
+        assertThat(histogram.percentile(0.90)).isEqualTo(95);
+        assertThat(histogram.percentile(0.99)).isEqualTo(114);
+        assertThat(histogram.percentile(1.0)).isEqualTo(114);
+    }
+
+    @Test
+    void boundsAreInclusive() {
+        LatencyHistogram exact = new LatencyHistogram(MINUTE);
+        exact.record(9);
+        LatencyHistogram above = new LatencyHistogram(MINUTE);
+        above.record(10);
+
+        assertThat(exact.percentile(1.0)).isEqualTo(9);
+        assertThat(above.percentile(1.0)).isEqualTo(11);
+    }
+
+    @Test
+    void clampsNegativeAndOverflowingSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(MINUTE);
+        histogram.record(-5);
+        histogram.record(500_000);
+
+        assertThat(histogram.percentile(0.5)).isEqualTo(1);
+        assertThat(histogram.percentile(1.0)).isEqualTo(120_000);
+    }
+
+    @Test
+    void snapshotSummarisesRecentSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(MINUTE);
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(30);
+
+        LatencyHistogramDto snapshot = histogram.snapshot("intent");
+
+        assertThat(snapshot.getEndpoint()).isEqualTo("intent");
+        assertThat(snapshot.getTotalCount()).isEqualTo(3);
+        assertThat(snapshot.getRecentCount()).isEqualTo(3);
+        assertThat(snapshot.getMeanMs()).isEqualTo(20.0);
+        assertThat(snapshot.getMaxMs()).isEqualTo(30);
+        assertThat(snapshot.getBuckets()).containsEntry(11L, 1L).containsEntry(22L, 1L).containsEntry(32L, 1L);
+    }
+
+    @Test
+    void forgetsSamplesAfterTwoQuietWindows() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(50);
+        histogram.record(1_000);
+
+        Thread.sleep(120);
+
+        assertThat(histogram.recentCount()).isZero();
+        assertThat(histogram.percentile(0.5)).isEqualTo(-1);
+        assertThat(histogram.snapshot("intent").getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNonPositiveWindow() {
+        assertThatThrownBy(() -> new LatencyHistogram(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package projects.vendex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    @Test
+    void stemsPluralsInQueriesAndProducts() {
+        assertThat(ProductSearchIndex.queryTerms("batteries")).contains("battery");
+        assertThat(ProductSearchIndex.queryTerms("chips")).contains("chip");
+        assertThat(ProductSearchIndex.queryTerms("glass")).contains("glass");
+
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put("SKU-1", "AA Batteries", "Electronics");
+
+        assertThat(index.search("battery")).containsKey("SKU-1");
+    }
+
+    @Test
+    void dropsStopWordsAndPunctuation() {
+        assertThat(ProductSearchIndex.queryTerms("Do you have any milk?")).containsExactly("milk");
+        assertThat(ProductSearchIndex.queryTerms("the price please")).isEmpty();
+    }
+
+    @Test
+    void matchesWordPrefixes() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put("SKU-1", "Chocolate Bar", "Snacks");
+
+        assertThat(index.search("choc")).containsKey("SKU-1");
+        // Shorter than the minimum prefix
+        assertThat(index.search("ch")).isEmpty();
+    }
+
+    @Test
+    void matchesSkusWithoutPunctuationAndByPrefix() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put("SKU-1234", "Rice", "Grains");
+
+        assertThat(index.search("SKU-1234")).containsKey("SKU-1234");
+        assertThat(index.search("sku12")).containsKey("SKU-1234");
+    }
+
+    @Test
+    void weighsNamesAboveCategoriesAndWordsAbovePrefixes() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put("NAME", "Milk", "Dairy");
+        index.put("CATEGORY", "Cheddar", "Milk Products");
+        index.put("PREFIX", "Milkshake", "Drinks");
+
+        Map<String, Double> scores = index.search("milk");
+
+        assertThat(scores.get("NAME")).isGreaterThan(scores.get("CATEGORY"));
+        assertThat(scores.get("CATEGORY")).isGreaterThan(scores.get("PREFIX"));
+    }
+
+    @Test
+    void rarerTermsScoreHigher() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put("A", "Apple Juice", "Drinks");
+        index.put("B", "Orange Juice", "Drinks");
+
+        Map<String, Double> scores = index.search("apple juice");
+
+        // Both match "juice"; only A also matches the rarer "apple"
+        assertThat(scores.get("A")).isGreaterThan(scores.get("B"));
+        assertThat(index.search("apple").get("A")).isGreaterThan(index.search("juice").get("A"));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsAProduct() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put("SKU-1", "Green Tea", "Drinks");
+        index.put("SKU-1", "Black Coffee", "Drinks");
+
+        assertThat(index.search("tea")).isEmpty();
+        assertThat(index.search("coffee")).containsKey("SKU-1");
+
+        index.remove("SKU-1");
+
+        assertThat(index.search("coffee")).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package projects.vendex.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimerWheelTest {
+
+    // 100 ms ticks, 8 slots: one revolution is 800 ms
+    private final TimerWheel<String> wheel = new TimerWheel<>(100, 8, 0);
+
+    @Test
+    void firesOnTheFirstAdvanceAtOrAfterTheDeadline() {
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void neverSchedulesIntoAProcessedTick() {
+        wheel.advance(500);
+
+        wheel.schedule("late", 0);
+
+        assertThat(wheel.advance(599)).isEmpty();
+        assertThat(wheel.advance(600)).containsExactly("late");
+    }
+
+    @Test
+    void keepsTimeoutsBeyondOneRevolutionUntilDue() {
+        wheel.schedule("far", 1_000);
+
+        // Ticks 2 and 9 share or pass the timeout's slot without it being due
+        assertThat(wheel.advance(250)).isEmpty();
+        assertThat(wheel.advance(999)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1_000)).containsExactly("far");
+    }
+
+    @Test
+    void expiresEverythingDueAfterALongPause() {
+        wheel.schedule("a", 150);
+        wheel.schedule("b", 650);
+        wheel.schedule("c", 10_000);
+
+        assertThat(wheel.advance(5_000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresAdvancesThatDoNotMoveForward() {
+        wheel.schedule("a", 150);
+        wheel.advance(100);
+
+        assertThat(wheel.advance(50)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNonPositiveTickOrSlots() {
+        assertThatThrownBy(() -> new TimerWheel<String>(0, 8, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimerWheel<String>(100, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -17,6 +17,12 @@ class DecisionPayload(BaseModel):
 class ForecastAndDecideRequest(SalesHistory):
     current_stock: int
     unit_cost: float
+
+class BatchForecastItem(ForecastAndDecideRequest):
+    sku: str
+
+class BatchForecastRequest(BaseModel):
+    items: List[BatchForecastItem]
     
 class ChatRequest(BaseModel):
     user_input: str
@@ -1,5 +1,5 @@
 from fastapi import APIRouter, HTTPException
-from .pydantic_classes.basemodels import SalesHistory, ChatRequest, DecisionPayload, ForecastAndDecideRequest, StaffAvailability, ReceiptRequest, SourcingRequest
+from .pydantic_classes.basemodels import SalesHistory, ChatRequest, DecisionPayload, ForecastAndDecideRequest, BatchForecastRequest, StaffAvailability, ReceiptRequest, SourcingRequest
 from .intent import vendex_intelligent_agent
 import json
 from .demand import get_forecast
@@ -34,6 +34,20 @@ def forecast_and_decide(payload: ForecastAndDecideRequest):
     decision = inventory_agent_decision(f, c, payload.current_stock, payload.unit_cost)
     return {"forecast": f, "confidence": c, "decision": decision}
 
+@router.post("/forecast-and-decide/batch", tags=["Inventory"])
+def forecast_and_decide_batch(payload: BatchForecastRequest):
+    # One round-trip for many SKUs; a bad item reports its own error instead of failing the batch
+    results = []
+    for item in payload.items:
+        try:
+            f, c = get_forecast(item.sales_history)
+        except Exception as exc:
+            results.append({"sku": item.sku, "error": str(exc)})
+            continue
+        decision = inventory_agent_decision(f, c, item.current_stock, item.unit_cost)
+        results.append({"sku": item.sku, "forecast": f, "confidence": c, "decision": decision})
+    return {"results": results}
+
 @router.post("/process-intent", tags=["Customer Agent"])
 async def process_intent(payload: ChatRequest):
     try: